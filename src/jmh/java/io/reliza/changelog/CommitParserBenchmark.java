@@ -0,0 +1,88 @@
+/**
+* Copyright 2021 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.changelog;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of conventional commit parsing and validation over typical commit message shapes
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommitParserBenchmark {
+
+	@Param({"header", "scoped_body", "breaking_footer", "long_body", "not_conventional"})
+	public String shape;
+
+	private String rawCommit;
+
+	@Setup
+	public void setup() {
+		switch (shape) {
+		case "header":
+			rawCommit = "fix: correct minor typos in code";
+			break;
+		case "scoped_body":
+			rawCommit = "feat(parser): add ability to parse arrays\n\n"
+					+ "Arrays are now parsed in a single pass over the input.";
+			break;
+		case "breaking_footer":
+			rawCommit = "refactor(api)!: drop support for Node 6\n\n"
+					+ "Node 6 has reached end of life.\n\n"
+					+ "BREAKING CHANGE: use JavaScript features not available in Node 6.\n"
+					+ "Reviewed-by: Z\nRefs #133";
+			break;
+		case "long_body":
+			StringBuilder sb = new StringBuilder("perf: speed up version sorting\n\n");
+			for (int i = 0; i < 40; i++) {
+				sb.append("Body line ").append(i).append(" describing the change in some detail.\n");
+			}
+			sb.append("\nCloses #42");
+			rawCommit = sb.toString();
+			break;
+		case "not_conventional":
+			rawCommit = "Merge branch 'main' into feature/perf\n\nConflicts resolved";
+			break;
+		default:
+			throw new IllegalStateException("Unknown commit shape " + shape);
+		}
+	}
+
+	/**
+	 * Non-conventional commits are rejected with exception, so this also measures the cost of rejection
+	 * @return parsed commit or null if commit is rejected
+	 */
+	@Benchmark
+	public ConventionalCommit parseRawCommit() {
+		try {
+			return CommitParserUtil.parseRawCommit(rawCommit);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	@Benchmark
+	public boolean isConventionalCommit() {
+		return CommitParserUtil.isConventionalCommit(rawCommit);
+	}
+}
@@ -0,0 +1,142 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.reliza.versioning.Version.VersionHelper;
+import io.reliza.versioning.Version.VersionStringComparator;
+import io.reliza.versioning.VersionApi.ActionEnum;
+
+/**
+ * Benchmarks of version parsing, matching, bumping, rendering and sorting over every VersionType schema
+ * and a few custom branch and calver schemas. Single-version benchmarks cycle through a pool of sample versions
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionBenchmark {
+
+	private static final int POOL_SIZE = 1024; // power of 2
+	private static final int SORT_SIZE = 1000;
+
+	@Param({
+		"YY.0M.Micro",
+		"YYYY.0M.Calvermodifier.Micro+Metadata?",
+		"YYYY.0M.Calvermodifier.Minor.Micro+Metadata?",
+		"Major.Minor.Patch-Modifier?+Metadata?",
+		"Major.Minor.Patch.Nano-Modifier?+Metadata?",
+		"Branch.Micro",
+		"YYYY.0M.Branch.Micro",
+		"YY.0M.Micro-Branch",
+		"YYYY.0M.Minor.Micro-Branch",
+		"YYYY.MM.DD.Micro"
+	})
+	public String schema;
+
+	private String[] versions;
+	private Version[] parsedVersions;
+	private List<String> sortInput;
+	private int cursor;
+
+	@Setup
+	public void setup() {
+		versions = sampleVersions(schema, POOL_SIZE).toArray(new String[0]);
+		parsedVersions = new Version[POOL_SIZE];
+		for (int i = 0; i < POOL_SIZE; i++) {
+			if (!VersionUtils.isVersionMatchingSchema(schema, versions[i])) {
+				throw new IllegalStateException("Sample version " + versions[i] + " does not match schema " + schema);
+			}
+			parsedVersions[i] = Version.getVersion(versions[i], schema);
+		}
+		sortInput = sampleVersions(schema, SORT_SIZE);
+	}
+
+	/**
+	 * Generates pseudo-random versions rendered with the schema, same seed is used for every run
+	 * @param schema String
+	 * @param count int
+	 * @return list of version Strings
+	 */
+	static List<String> sampleVersions(String schema, int count) {
+		Random random = new Random(42);
+		List<String> samples = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Version v = Version.getVersion(schema);
+			v.setMajor(random.nextInt(5));
+			v.setMinor(random.nextInt(20));
+			v.setPatch(random.nextInt(100));
+			v.setNano(random.nextInt(10));
+			v.setDate(ZonedDateTime.of(2019 + random.nextInt(7), 1 + random.nextInt(12), 1 + random.nextInt(28),
+					0, 0, 0, 0, ZoneOffset.UTC));
+			v.setBranch("feature/perf-" + random.nextInt(50));
+			if (random.nextInt(4) == 0) v.setModifier("rc" + random.nextInt(3));
+			if (random.nextInt(8) == 0) v.setMetadata("build" + random.nextInt(100));
+			samples.add(v.constructVersionString());
+		}
+		return samples;
+	}
+
+	private int nextIndex() {
+		return cursor++ & (POOL_SIZE - 1);
+	}
+
+	@Benchmark
+	public Optional<VersionHelper> parseVersion() {
+		return VersionUtils.parseVersion(versions[nextIndex()], schema, false);
+	}
+
+	@Benchmark
+	public boolean isVersionMatchingSchema() {
+		return VersionUtils.isVersionMatchingSchema(schema, versions[nextIndex()]);
+	}
+
+	@Benchmark
+	public Version getVersionFromPinAndOldVersion() {
+		return Version.getVersionFromPinAndOldVersion(schema, schema, versions[nextIndex()], ActionEnum.BUMP);
+	}
+
+	@Benchmark
+	public String constructVersionString() {
+		return parsedVersions[nextIndex()].constructVersionString();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<String> sortWithComparator() {
+		List<String> toSort = new ArrayList<>(sortInput);
+		toSort.sort(new VersionStringComparator(schema));
+		return toSort;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<String> sortWithVersionSorter() {
+		return VersionSorter.sort(sortInput, schema);
+	}
+}
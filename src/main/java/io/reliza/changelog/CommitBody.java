@@ -65,11 +65,11 @@ public final class CommitBody implements BreakingChangeItem{
      * @return String
      */
     public String getRawBody() {
-    	String rawBody = "";
+    	StringBuilder rawBody = new StringBuilder();
     	for (String line : body) {
-    		rawBody += line + System.lineSeparator();
+    		rawBody.append(line).append(System.lineSeparator());
     	}
-    	return rawBody;
+    	return rawBody.toString();
     }
 
     
@@ -0,0 +1,85 @@
+/**
+* Copyright 2021 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+
+package io.reliza.changelog;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.reliza.changelog.CommitLineClassifier.LineKind;
+
+/**
+ * Finds commit type and breaking change flag of raw commit message in a single forward scan, without building
+ * {@link ConventionalCommit} objects and without throwing on invalid messages.
+ * Only the header type, the '!' marker and breaking change tokens in body and footer are inspected,
+ * while message layout is validated with the same rules as {@link CommitParserUtil#parseRawCommit(String)},
+ * so the result is the same as of that method for every message it accepts.
+ */
+public final class CommitClassifier {
+
+    /**
+     * Type and breaking change flag of a conventional commit
+     * @param type CommitTypes.Definition of built-in or registered custom type
+     * @param breakingChange boolean true if header has '!' marker or body or footer has breaking change token
+     */
+    public record Classification(CommitTypes.Definition type, boolean breakingChange) {}
+
+    private CommitClassifier() {
+    }
+
+    /**
+     * Classifies raw commit message
+     * @param rawCommit CharSequence, may be null
+     * @return Classification, null if message is not a conventional commit
+     */
+    public static Classification classify(CharSequence rawCommit) {
+        if (StringUtils.isBlank(rawCommit)) {
+            return null;
+        }
+        int length = rawCommit.length();
+        int headerEnd = CommitLineClassifier.lineEnd(rawCommit, 0);
+        // header: <type>[(<scope>)][!]: <description>, with surrounding whitespace ignored
+        CommitTypes.HeaderMatch header = CommitTypes.matchHeader(rawCommit, 0,
+                CommitLineClassifier.contentEnd(rawCommit, 0, headerEnd));
+        if (null == header) {
+            return null;
+        }
+        boolean breakingChange = header.breakingChange();
+        if (headerEnd < length) {
+            // body or footer follows: blank second line and at least three lines are required
+            int secondStart = headerEnd + 1;
+            int secondEnd = CommitLineClassifier.lineEnd(rawCommit, secondStart);
+            if (secondEnd == length || CommitLineClassifier.contentEnd(rawCommit, secondStart, secondEnd) != secondStart) {
+                return null;
+            }
+            boolean inFooter = false;
+            LineKind previousKind = LineKind.BLANK;
+            int lineStart = secondEnd + 1;
+            while (lineStart <= length) {
+                int lineEnd = CommitLineClassifier.lineEnd(rawCommit, lineStart);
+                int lineContentEnd = CommitLineClassifier.contentEnd(rawCommit, lineStart, lineEnd);
+                LineKind kind = CommitLineClassifier.classify(rawCommit, lineStart, lineContentEnd);
+                if (!inFooter && kind.isTrailer()) {
+                    // footer must be preceded by blank line
+                    if (previousKind != LineKind.BLANK) {
+                        return null;
+                    }
+                    inFooter = true;
+                }
+                if (inFooter) {
+                    if (kind == LineKind.BODY) {
+                        return null;
+                    }
+                    breakingChange |= CommitLineClassifier.isBreakingChangeFooterLine(rawCommit, lineStart, lineContentEnd);
+                } else {
+                    breakingChange |= CommitLineClassifier.isBreakingChangeBodyLine(rawCommit, lineStart, lineContentEnd);
+                }
+                previousKind = kind;
+                lineStart = lineEnd + 1;
+            }
+        }
+        return new Classification(header.type(), breakingChange);
+    }
+}
@@ -0,0 +1,207 @@
+/**
+* Copyright 2021 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+
+package io.reliza.changelog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written scanner used by {@link CommitParserUtil#parseRawCommit(String)} to split commit messages
+ * into lines and classify each line in a single pass, without regular expressions.
+ * Classification is the same as of the git trailer regex
+ * {@code "^(?:([\w\-]+)(: | #)|(BREAKING CHANGE: ))(.*)"} matched against the whole line.
+ */
+final class CommitLineClassifier {
+
+    /**
+     * Kind of a commit message line
+     */
+    enum LineKind {
+        /**
+         * empty line
+         */
+        BLANK,
+        /**
+         * git trailer, i.e. {@code Refs: #123} or {@code BREAKING-CHANGE: description}
+         */
+        TRAILER,
+        /**
+         * {@code BREAKING CHANGE: description} footer, the only trailer with whitespace in its token
+         */
+        BREAKING_CHANGE,
+        /**
+         * any other line
+         */
+        BODY;
+
+        /**
+         * @return boolean true if line may be part of footer section
+         */
+        boolean isTrailer() {
+            return this == TRAILER || this == BREAKING_CHANGE;
+        }
+    }
+
+    private static final String BREAKING_CHANGE_PREFIX = "BREAKING CHANGE: ";
+
+    private CommitLineClassifier() {
+    }
+
+    /**
+     * Splits message on {@code \r\n} and {@code \n} separators, same as
+     * {@code message.split(CommitParserUtil.LINE_SEPARATOR_REGEX, -1)}, trailing empty lines are preserved
+     * @param message String
+     * @return String[] lines
+     */
+    static String[] splitLines(String message) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        int length = message.length();
+        for (int i = 0; i < length; i++) {
+            if (message.charAt(i) == '\n') {
+                int end = (i > start && message.charAt(i - 1) == '\r') ? i - 1 : i;
+                lines.add(message.substring(start, end));
+                start = i + 1;
+            }
+        }
+        lines.add(message.substring(start));
+        return lines.toArray(new String[0]);
+    }
+
+    /**
+     * Finds end of the line starting at supplied index, lines are separated with {@code \r\n} or {@code \n}
+     * same as in {@link #splitLines(String)}
+     * @param text CharSequence
+     * @param start int index of first character of the line
+     * @return int index of terminating {@code '\n'}, or length of text for the last line
+     */
+    static int lineEnd(CharSequence text, int start) {
+        int i = start;
+        while (i < text.length() && text.charAt(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Finds end of line content, excluding {@code '\r'} of {@code \r\n} separator
+     * @param text CharSequence
+     * @param start int index of first character of the line
+     * @param lineEnd int as returned by {@link #lineEnd(CharSequence, int)}
+     * @return int index after last character of the line content
+     */
+    static int contentEnd(CharSequence text, int start, int lineEnd) {
+        return (lineEnd < text.length() && lineEnd > start && text.charAt(lineEnd - 1) == '\r') ? lineEnd - 1 : lineEnd;
+    }
+
+    /**
+     * Checks body line for breaking change the same way as {@link CommitBody}
+     * @param text CharSequence
+     * @param start int index of first character of the line
+     * @param end int index after last character of the line
+     * @return boolean true if line contains {@code BREAKING-CHANGE:} or {@code BREAKING CHANGE}
+     */
+    static boolean isBreakingChangeBodyLine(CharSequence text, int start, int end) {
+        return contains(text, start, end, "BREAKING-CHANGE:") || contains(text, start, end, "BREAKING CHANGE");
+    }
+
+    /**
+     * Checks footer line for breaking change the same way as {@link CommitFooter}
+     * @param text CharSequence
+     * @param start int index of first character of the line
+     * @param end int index after last character of the line
+     * @return boolean true if line starts with {@code BREAKING-CHANGE: } or {@code BREAKING CHANGE: }
+     */
+    static boolean isBreakingChangeFooterLine(CharSequence text, int start, int end) {
+        return startsWith(text, start, end, "BREAKING-CHANGE: ") || startsWith(text, start, end, BREAKING_CHANGE_PREFIX);
+    }
+
+    /**
+     * Classifies single line of a commit message
+     * @param line String without line separator
+     * @return LineKind
+     */
+    static LineKind classify(String line) {
+        return classify(line, 0, line.length());
+    }
+
+    /**
+     * Classifies single line of a commit message given as range of a larger text, so that lines
+     * do not need to be copied out of the message
+     * @param text CharSequence
+     * @param start int index of first character of the line
+     * @param end int index after last character of the line, excluding line separator
+     * @return LineKind
+     */
+    static LineKind classify(CharSequence text, int start, int end) {
+        if (start == end) {
+            return LineKind.BLANK;
+        }
+        LineKind kind = LineKind.BODY;
+        int valueStart = -1;
+        int tokenEnd = start;
+        while (tokenEnd < end && isTokenChar(text.charAt(tokenEnd))) {
+            tokenEnd++;
+        }
+        if (tokenEnd > start && tokenEnd + 1 < end) {
+            char first = text.charAt(tokenEnd);
+            char second = text.charAt(tokenEnd + 1);
+            if ((first == ':' && second == ' ') || (first == ' ' && second == '#')) {
+                kind = LineKind.TRAILER;
+                valueStart = tokenEnd + 2;
+            }
+        }
+        if (kind == LineKind.BODY && startsWith(text, start, end, BREAKING_CHANGE_PREFIX)) {
+            kind = LineKind.BREAKING_CHANGE;
+            valueStart = start + BREAKING_CHANGE_PREFIX.length();
+        }
+        // value is matched by '.', which does not match line terminators
+        if (kind != LineKind.BODY && containsLineTerminator(text, valueStart, end)) {
+            kind = LineKind.BODY;
+        }
+        return kind;
+    }
+
+    private static boolean startsWith(CharSequence text, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(CharSequence text, int start, int end, String part) {
+        for (int i = start; i <= end - part.length(); i++) {
+            if (startsWith(text, i, end, part)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param c char
+     * @return boolean true if c is matched by {@code [\w\-]}
+     */
+    private static boolean isTokenChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    private static boolean containsLineTerminator(CharSequence text, int from, int end) {
+        for (int i = from; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
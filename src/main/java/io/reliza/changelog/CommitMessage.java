@@ -6,16 +6,15 @@
 
 package io.reliza.changelog;
 
-import java.util.regex.Matcher;
-import static io.reliza.changelog.CommitParserUtil.COMMIT_MESSAGE_REGEX;
-//import static io.reliza.common.Utils.getNullable;
+import io.reliza.changelog.CommitTypes.Definition;
+import io.reliza.changelog.CommitTypes.HeaderMatch;
 
 /**
  * CommitMessage class
  */
 public final class CommitMessage implements BreakingChangeItem{
     private final String rawMessage;
-    private final CommitType type;
+    private final Definition typeDefinition;
     private final String message;
     private final String scope;
     private final boolean isBreakingChange;
@@ -26,12 +25,40 @@ public final class CommitMessage implements BreakingChangeItem{
      * @param rawMessage String
      */
     public CommitMessage(String rawMessage) {
-        this.rawMessage = rawMessage.trim();
-        ConventionalCommitMatcher matcher = new ConventionalCommitMatcher(this.rawMessage);
-        this.type = matcher.getType();
-        this.message = matcher.getMessage();
-        this.scope = matcher.getScope();
-        this.isBreakingChange = matcher.isBreakingChange();
+        this(rawMessage.trim(), matchHeader(rawMessage.trim()));
+    }
+
+    /**
+     * Constructs CommitMessage from trimmed header and its match
+     * @param rawMessage String
+     * @param match HeaderMatch
+     */
+    private CommitMessage(String rawMessage, HeaderMatch match) {
+        if (null == match) {
+            // same exception as thrown by regex matcher in earlier versions
+            throw new IllegalStateException("No match found");
+        }
+        this.rawMessage = rawMessage;
+        this.typeDefinition = match.type();
+        this.message = getNullable(rawMessage.substring(match.descriptionStart(), match.descriptionEnd()));
+        this.scope = getNullable(rawMessage.substring(match.scopeStart(), match.scopeEnd()));
+        this.isBreakingChange = match.breakingChange();
+    }
+  
+    
+    /**
+     * Parses commit header without throwing
+     * @param rawMessage String
+     * @return CommitMessage, null if header is not a conventional commit header
+     */
+    static CommitMessage tryParse(String rawMessage) {
+        String trimmed = rawMessage.trim();
+        HeaderMatch match = matchHeader(trimmed);
+        return (null != match) ? new CommitMessage(trimmed, match) : null;
+    }
+
+    private static HeaderMatch matchHeader(String trimmed) {
+        return CommitTypes.matchHeader(trimmed, 0, trimmed.length());
     }
   
     
@@ -44,10 +71,18 @@ public final class CommitMessage implements BreakingChangeItem{
   
     
     /** 
-     * @return CommitType
+     * @return CommitType, null if commit is of registered custom type
      */
     public CommitType getType() {
-        return type;
+        return typeDefinition.builtIn();
+    }
+  
+    
+    /** 
+     * @return Definition of built-in or registered custom type
+     */
+    public Definition getTypeDefinition() {
+        return typeDefinition;
     }
   
     
@@ -82,35 +117,10 @@ public final class CommitMessage implements BreakingChangeItem{
         return isBreakingChange ? message : "";
     }
   
-    private static class ConventionalCommitMatcher {
-        private final Matcher matcher;
-    
-        public ConventionalCommitMatcher(String rawString) {
-            this.matcher = COMMIT_MESSAGE_REGEX.matcher(rawString);
-            this.matcher.find();
-        }
-    
-        CommitType getType() {
-            return CommitType.of((matcher.group(1).toLowerCase()));
-        }
-    
-        String getScope() {
-            return getNullable(matcher.group(2));
-        }
-    
-        boolean isBreakingChange() {
-            return matcher.group(3) != null;
-        }
-    
-        String getMessage() {
-            return getNullable(matcher.group(4));
+    private static String getNullable(String nullable) {
+        if (nullable == null || nullable.trim().isEmpty()) {
+            return "";
         }
-        
-        public static String getNullable(String nullable) {
-    		if (nullable == null || nullable.trim().isEmpty()) {
-    			return "";
-    		}
-    		return nullable;
-    	}
+        return nullable;
     }
 }
@@ -0,0 +1,92 @@
+/**
+* Copyright 2021 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+
+package io.reliza.changelog;
+
+/**
+ * Outcome of {@link CommitParserUtil#tryParseRawCommit(String)}: either parsed commit, or reason why
+ * the message is not a conventional commit together with 1-based number of the offending line.
+ *
+ * @param commit ConventionalCommit, null on failure
+ * @param reason Reason, null on success
+ * @param lineNumber int 1-based line number where parsing failed, 0 on success or if message is empty
+ */
+public record CommitParseResult(ConventionalCommit commit, Reason reason, int lineNumber) {
+
+    /**
+     * Reasons why raw commit message does not meet conventional commit specification
+     */
+    public enum Reason {
+        /**
+         * message is null, empty or only whitespace
+         */
+        EMPTY_MESSAGE("Cannot parse empty/null commit message."),
+        /**
+         * message has header and one more line
+         */
+        TWO_LINE_MESSAGE("Commit message does not meet conventional commit specification. " +
+                "Conventional Commit should not be just two lines. Needs to be 1 or at least 3."),
+        /**
+         * second line is not blank
+         */
+        MISSING_BLANK_LINE_AFTER_HEADER("Commit message does not meet conventional commit specification. " +
+                "Conventional Commit message should have a blank line before body and footer sections"),
+        /**
+         * first git trailer directly follows body line
+         */
+        MISSING_BLANK_LINE_BEFORE_FOOTER("Commit message does not meet conventional commit specification. " +
+                "Must have blank line before footer section."),
+        /**
+         * line in footer section is not a git trailer
+         */
+        INVALID_FOOTER_LINE("Commit message does not meet conventional commit specification. " +
+                "Lines in footer must follow git trailer convention."),
+        /**
+         * header does not match {@code <type>[(<scope>)][!]: <description>} with type of built-in {@link CommitType}
+         * or of custom type registered with {@link CommitTypes}
+         */
+        // message is kept as thrown by earlier versions, which wrapped exception of header regex matcher
+        INVALID_HEADER("Commit does not meet convnetional commit specification. " +
+                "Threw error when attemping to create CommitMessage object: java.lang.IllegalStateException: No match found");
+
+        private final String message;
+
+        Reason(String message) {
+            this.message = message;
+        }
+
+        /**
+         * @return String message of exception thrown by {@link CommitParserUtil#parseRawCommit(String)}
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * @param commit ConventionalCommit
+     * @return successful result
+     */
+    static CommitParseResult success(ConventionalCommit commit) {
+        return new CommitParseResult(commit, null, 0);
+    }
+
+    /**
+     * @param reason Reason
+     * @param lineNumber int
+     * @return failed result
+     */
+    static CommitParseResult failure(Reason reason, int lineNumber) {
+        return new CommitParseResult(null, reason, lineNumber);
+    }
+
+    /**
+     * @return boolean true if message was parsed
+     */
+    public boolean isSuccess() {
+        return null == reason;
+    }
+}
@@ -7,11 +7,14 @@
 package io.reliza.changelog;
 
 import java.util.Arrays;
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 
+import io.reliza.changelog.CommitLineClassifier.LineKind;
+import io.reliza.changelog.CommitParseResult.Reason;
+
 import static java.util.stream.Collectors.joining;
 
 
@@ -21,7 +24,8 @@ import static java.util.stream.Collectors.joining;
 
 public final class CommitParserUtil {
 	/**
-	 * compile COMMIT REGEX PATTERN
+	 * compile COMMIT REGEX PATTERN, covers built-in types only and is kept for compatibility,
+	 * header parsing also knows types registered with {@link CommitTypes}
 	 */
     public static final Pattern COMMIT_MESSAGE_REGEX = createRegexPattern();
     //public static final String LINE_SEPARATOR = "\n\n";
@@ -50,139 +54,109 @@ public final class CommitParserUtil {
      * and return a ConventionalCommit object representing the commit message.
      * 
      * If the commit message passed does not meet the Convetional Commit specification, then
-     * an IllegalArgumentException will be thrown.
+     * an IllegalArgumentException will be thrown. Use {@link #tryParseRawCommit(String)} where
+     * invalid messages are expected, i.e. to process whole history of a repository.
      * 
      * @param rawCommitMessage String containing the raw commit message.
      * @return A ConventionalCommit object representing the raw commit.
      * @throws IllegalArgumentException thrown if the raw commit message passed does not meet the conventional commit specification.
      */
     public static ConventionalCommit parseRawCommit(String rawCommitMessage) throws IllegalArgumentException {
+    	CommitParseResult result = tryParseRawCommit(rawCommitMessage);
+    	if (!result.isSuccess()) {
+    		throw new IllegalArgumentException(result.reason().getMessage());
+    	}
+    	return result.commit();
+    }
+    
+    /**
+     * Parses raw commit message same as {@link #parseRawCommit(String)}, but reports message which does not meet
+     * Conventional Commit specification as failed result instead of throwing exception.
+     * 
+     * @param rawCommitMessage String containing the raw commit message, may be null.
+     * @return CommitParseResult holding either parsed commit or reason of failure with line number.
+     */
+    public static CommitParseResult tryParseRawCommit(String rawCommitMessage) {
     	if (StringUtils.isBlank(rawCommitMessage)) {
-    		// throw if input rawCommitMessage is empty, null or only whitespace
-    		throw new IllegalArgumentException("Cannot parse empty/null commit message.");
+    		// fail if input rawCommitMessage is empty, null or only whitespace
+    		return CommitParseResult.failure(Reason.EMPTY_MESSAGE, 0);
     	}
-    	// split to get first line as header, use negative limit to preserve trailing empty strings
-    	String[] commitLines = rawCommitMessage.split(LINE_SEPARATOR_REGEX, -1);
-    	String rawHeader = commitLines[0];
+    	// scan lines by offsets, so body and footer are not copied out of the message until they are accessed
+    	int length = rawCommitMessage.length();
+    	int headerEnd = CommitLineClassifier.lineEnd(rawCommitMessage, 0);
+    	String rawHeader = rawCommitMessage.substring(0, CommitLineClassifier.contentEnd(rawCommitMessage, 0, headerEnd));
     	
     	// Check for body and footer
-    	ArrayList<String> rawBody = new ArrayList<String>();
-    	String rawFooter = "";
+    	int bodyStart = -1;
+    	int bodyEnd = -1;
+    	int footerStart = -1;
+    	boolean isBodyBreakingChange = false;
+    	boolean isFooterBreakingChange = false;
     	boolean inFooter = false;
     	
     	// Check if commit has more than one line, ie not just header
-    	if (commitLines.length > 2) {
+    	if (headerEnd < length) {
+    		int secondLineStart = headerEnd + 1;
+    		int secondLineEnd = CommitLineClassifier.lineEnd(rawCommitMessage, secondLineStart);
+    		if (secondLineEnd == length) {
+    			// Conventional Commit should not be just two lines. Needs to be 1 or at least 3.
+    			return CommitParseResult.failure(Reason.TWO_LINE_MESSAGE, 2);
+    		}
     		// First line after header must be blank line if body or footer follows
-    		if (commitLines[1] == "") {
-    			// First line after is blank: set as previousLine
-    	    	String previousLine = commitLines[1];
-    			// search for git trailer with following regex to see if we have footer
-        		// ^(?<token>[\w\-]+|BREAKING CHANGE)(?<seperator>: | #)
-        		for (int i = 2; i < commitLines.length; i++) {
-        			String currentLine = commitLines[i];
-        			// Check if current line is git trailer, if we have not found footer yet
-        			if (inFooter == false && currentLine.matches("^(?:([\\w\\-]+)(: | #)|(BREAKING CHANGE: ))(.*)")) {
-        				if (previousLine == "") {
-        					// Then current line is first git trailer (ie first footer line)
-            				inFooter = true;
-        				} else {
-        					// Must have blank line before footer
-        					throw new IllegalArgumentException("Commit message does not meet conventional commit specification. " +
-									   "Must have blank line before footer section.");
-        				}
-        			}
-        			// Add line to body arraylist, unless we are in the footer section
-        			if (inFooter) {
-        				// Make sure line is in proper form for footer
-        				if (currentLine.matches("^(?:([\\w\\-]+)(: | #)|(BREAKING CHANGE: ))(.*)")) {
-            				rawFooter = rawFooter + currentLine + System.lineSeparator();
-        				} else if (currentLine.equals("")) {
-        					// ignore blank lines in footer, so do nothing and skip to next commitLine
-        				} else {
-        					throw new IllegalArgumentException("Commit message does not meet conventional commit specification. " + 
-     							   							   "Lines in footer must follow git trailer convention.");
-        				}
-        			} else {
-        				rawBody.add(currentLine);
-        			}
-        			
-        			// Set current line (i) as previousLine before going to next iteration
-        			previousLine = currentLine;
-        		}
-    		} else {
+    		if (CommitLineClassifier.contentEnd(rawCommitMessage, secondLineStart, secondLineEnd) != secondLineStart) {
     			// Conventional Commit message should have a blank line before body and footer sections
-    			throw new IllegalArgumentException("Commit message does not meet conventional commit specification. " + 
-    							   "Conventional Commit message should have a blank line before body and footer sections");
+    			return CommitParseResult.failure(Reason.MISSING_BLANK_LINE_AFTER_HEADER, 2);
     		}
-    		
-    	} else if (commitLines.length == 2) {
-    		// Conventional Commit should not be just two lines. Needs to be 1 or at least 3.
-			throw new IllegalArgumentException("Commit message does not meet conventional commit specification. " +
-							   "Conventional Commit should not be just two lines. Needs to be 1 or at least 3.");
-    	} else {
-    		// body and footer are null
-    	}
-		// Trim trailing blank lines of body
-    	for (int i = rawBody.size()-1; i >= 0; i--) {
-    		if (rawBody.get(i) == "") {
-    			rawBody.remove(i);
-    		} else {
-    			// Once we reach first non blank line, stop loop.
-    			break;
+    		// First line after is blank: set as previousKind
+    		LineKind previousKind = LineKind.BLANK;
+    		int lineStart = secondLineEnd + 1;
+    		int lineNumber = 3;
+    		// search for git trailer to see if we have footer
+    		// ^(?<token>[\w\-]+|BREAKING CHANGE)(?<seperator>: | #)
+    		while (lineStart <= length) {
+    			int lineEnd = CommitLineClassifier.lineEnd(rawCommitMessage, lineStart);
+    			int contentEnd = CommitLineClassifier.contentEnd(rawCommitMessage, lineStart, lineEnd);
+    			// classify once, the kind is used both for footer detection and footer validation
+    			LineKind currentKind = CommitLineClassifier.classify(rawCommitMessage, lineStart, contentEnd);
+    			// Check if current line is git trailer, if we have not found footer yet
+    			if (inFooter == false && currentKind.isTrailer()) {
+    				if (previousKind == LineKind.BLANK) {
+    					// Then current line is first git trailer (ie first footer line)
+    					inFooter = true;
+    					footerStart = lineStart;
+    				} else {
+    					// Must have blank line before footer
+    					return CommitParseResult.failure(Reason.MISSING_BLANK_LINE_BEFORE_FOOTER, lineNumber);
+    				}
+    			}
+    			if (inFooter) {
+    				// Make sure line is in proper form for footer, blank lines in footer are ignored
+    				if (currentKind == LineKind.BODY) {
+    					return CommitParseResult.failure(Reason.INVALID_FOOTER_LINE, lineNumber);
+    				}
+    				isFooterBreakingChange |= CommitLineClassifier.isBreakingChangeFooterLine(rawCommitMessage, lineStart, contentEnd);
+    			} else if (currentKind != LineKind.BLANK) {
+    				// body spans from the line after blank separator till last non blank line before footer
+    				bodyStart = secondLineEnd + 1;
+    				bodyEnd = contentEnd;
+    				isBodyBreakingChange |= CommitLineClassifier.isBreakingChangeBodyLine(rawCommitMessage, lineStart, contentEnd);
+    			}
+    			previousKind = currentKind;
+    			lineStart = lineEnd + 1;
+    			lineNumber++;
     		}
     	}
     	
-    	// Construct commit objects from raw strings
-    	CommitMessage commitMessage;
-    	// Should maybe catch this exception directly in CommitMessage->getType() method
-    	// Problem is passing invalid commit messages, where to catch errors with conventional commit specs?
-    	try {
-    		commitMessage = new CommitMessage(rawHeader);
-    	} catch (IllegalStateException e) {
-    		throw new IllegalArgumentException("Commit does not meet convnetional commit specification. " + 
-    						   				   "Threw error when attemping to create CommitMessage object: " + e);
+    	// Construct commit objects from raw strings, header is checked last as before
+    	CommitMessage commitMessage = CommitMessage.tryParse(rawHeader);
+    	if (null == commitMessage) {
+    		return CommitParseResult.failure(Reason.INVALID_HEADER, 1);
     	}
     	
-    	CommitBody commitBody = null;
-    	if (!rawBody.isEmpty()) {
-    		String[] rawBodyArray = new String[rawBody.size()];
-    		rawBody.toArray(rawBodyArray);
-    		commitBody = new CommitBody(rawBodyArray);
-    	}
-    	CommitFooter commitFooter = null;
-    	if (rawFooter != "") {
-    		commitFooter = new CommitFooter(rawFooter);
-    	}
-    	
-    	// Create new convnetional commit object with raw header, body and footer
-    	ConventionalCommit commit;
-    	if (commitBody == null && commitFooter == null) {
-    		// no body or footer
-    		commit = new ConventionalCommit(commitMessage);
-    	} else if (commitBody == null && commitFooter != null) {
-    		// no body, yes footer
-    		commit = new ConventionalCommit(commitMessage, commitFooter);
-    	} else if (commitBody != null && commitFooter == null) {
-    		// yes body, no footer
-    		commit = new ConventionalCommit(commitMessage, commitBody);
-    	} else {
-    		// yes body and footer
-    		commit = new ConventionalCommit(commitMessage, commitBody, commitFooter);
-    	}
-    	
-    	return commit;
+    	return CommitParseResult.success(new ConventionalCommit(commitMessage, rawCommitMessage, bodyStart, bodyEnd, footerStart,
+    			isBodyBreakingChange, isFooterBreakingChange));
     }
     
-    /**
-     * Header: {@code <type>[(<scope>)][!]: <description>}, case-insensitive type per
-     * {@link CommitType} (existing tooling constraint; spec §1/§14 permits any noun).
-     * Scope must be non-empty word chars or hyphens. Description must be non-empty.
-     */
-    private static final Pattern HEADER_PATTERN = Pattern.compile(
-            "^(?:" + Arrays.stream(CommitType.values()).map(CommitType::getPrefix).collect(joining("|"))
-            + ")(?:\\(([\\w-]+)\\))?(!)?: .+$",
-            Pattern.CASE_INSENSITIVE);
-
     /**
      * Footer git-trailer token. Per spec §8–§9: token uses {@code -} in place of whitespace,
      * separator is {@code ": "} or {@code " #"}; {@code BREAKING CHANGE} and {@code BREAKING-CHANGE}
@@ -205,8 +179,9 @@ public final class CommitParserUtil {
      *       {@code BREAKING CHANGE}/{@code BREAKING-CHANGE}</li>
      * </ul>
      *
-     * <p>Note: the type must be one of {@link CommitType}. Spec §14 permits arbitrary noun types,
-     * but the rest of this library is keyed off that enum, so the validator is scoped to match.</p>
+     * <p>Note: the type must be one of {@link CommitType} or a custom type registered with
+     * {@link CommitTypes#register(String, String, int, CommitTypes.Bump)}. Spec §14 permits arbitrary noun types,
+     * but the rest of this library needs to know the section and bump of a type, so the validator is scoped to match.</p>
      *
      * @param rawCommitMessage raw commit message to validate; may be null
      * @return true if the message meets the Conventional Commit specification, false otherwise
@@ -216,7 +191,8 @@ public final class CommitParserUtil {
 
         String[] lines = rawCommitMessage.split(LINE_SEPARATOR_REGEX, -1);
 
-        if (!HEADER_PATTERN.matcher(lines[0]).matches()) return false;
+        // §1 header: {@code <type>[(<scope>)][!]: <description>}, scope is non-empty word chars or hyphens
+        if (null == CommitTypes.matchStrictHeader(lines[0], 0, lines[0].length())) return false;
 
         // Trim trailing blank lines so a single trailing newline doesn't invalidate the message.
         int end = lines.length;
@@ -265,7 +241,10 @@ public final class CommitParserUtil {
     		throw new IllegalArgumentException("Please provide non-empty/non-null commit message.");
     	}
     	String LS = LINE_SEPARATOR_REGEX;
-    	String fullCommitRegex = "(?<header>^(?<type>fix|feat|perf|revert|refactor|build|test|docs|chore|ci|style)[(]?(?<scope>[\\w\\-]+)?[)]?(?<modifier>!)?: (?<desc>.+))(?<body>(?<spacer>"+LS+LS+")(?<bodyline>.+"+LS+"|"+LS+")*)?(?<footer>"+LS+"(?<trailer>^(?<token>[\\w\\-]+|BREAKING CHANGE)(?<seperator>: | #)(?<value>(?<valueline>.+"+LS+")*?(?=([\\w\\-]+|BREAKING CHANGE)(: |# ))))*(?<lasttoken>[\\w\\-]+|BREAKING CHANGE)(?<lastseperator>: | #)(?<lastvalue>(?<lastvalueline>.+|.+"+LS+")*))";
+    	// longest type first, so that alternation prefers it over types which are its prefix
+    	String types = CommitTypes.definitions().stream().map(CommitTypes.Definition::prefix)
+    			.sorted(Comparator.comparingInt(String::length).reversed()).collect(joining("|"));
+    	String fullCommitRegex = "(?<header>^(?<type>" + types + ")[(]?(?<scope>[\\w\\-]+)?[)]?(?<modifier>!)?: (?<desc>.+))(?<body>(?<spacer>"+LS+LS+")(?<bodyline>.+"+LS+"|"+LS+")*)?(?<footer>"+LS+"(?<trailer>^(?<token>[\\w\\-]+|BREAKING CHANGE)(?<seperator>: | #)(?<value>(?<valueline>.+"+LS+")*?(?=([\\w\\-]+|BREAKING CHANGE)(: |# ))))*(?<lasttoken>[\\w\\-]+|BREAKING CHANGE)(?<lastseperator>: | #)(?<lastvalue>(?<lastvalueline>.+|.+"+LS+")*))";
     	Pattern p = Pattern.compile(fullCommitRegex, Pattern.MULTILINE);
     	java.util.regex.Matcher m = p.matcher(rawCommitMessage);
     	
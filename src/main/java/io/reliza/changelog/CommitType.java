@@ -6,8 +6,11 @@
 
 package io.reliza.changelog;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
- * enum CommitType describes possible types of commits
+ * enum CommitType describes built-in types of commits, see {@link CommitTypes} for registering custom types
  */
 public enum CommitType {
     /**
@@ -66,6 +69,14 @@ public enum CommitType {
     STYLE(10, "style", "Styles");
 
   
+    private static final Map<String, CommitType> BY_PREFIX = new HashMap<>();
+
+    static {
+        for (CommitType type : values()) {
+            BY_PREFIX.put(type.prefix, type);
+        }
+    }
+
     private final int displayPriority;
     private final String prefix;
     private final String fullName;
@@ -110,10 +121,9 @@ public enum CommitType {
      * @return CommitType enum
      */
     public static CommitType of(String value) {
-        for (CommitType type : CommitType.values()) {
-            if (type.prefix.equals(value)) {
-                return type;
-            }
+        CommitType type = (null == value) ? null : BY_PREFIX.get(value);
+        if (null != type) {
+            return type;
         }
         throw new IllegalStateException(
             value + " commit type is not supported by " + CommitType.class.getSimpleName());
@@ -0,0 +1,394 @@
+/**
+* Copyright 2021 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+
+package io.reliza.changelog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registry of commit types recognized in commit headers: built-in {@link CommitType} values plus custom types
+ * registered by the application (Conventional Commits spec §14 permits any noun as type).
+ *
+ * Type names are compiled into a case-insensitive prefix trie, which header scanning walks directly, so custom
+ * types are recognized at the same cost as built-in ones. Registration replaces the trie with a new immutable one,
+ * lookups never lock.
+ */
+public final class CommitTypes {
+
+    /**
+     * Version bump caused by a commit of a type, unless commit is a breaking change which always bumps major
+     */
+    public enum Bump {
+        /**
+         * commit does not require a new version
+         */
+        NONE,
+        /**
+         * patch version is bumped
+         */
+        PATCH,
+        /**
+         * minor version is bumped
+         */
+        MINOR,
+        /**
+         * major version is bumped
+         */
+        MAJOR
+    }
+
+    /**
+     * Commit type as recognized in headers
+     * @param prefix String lower case type name, i.e. fix
+     * @param fullName String changelog section name, i.e. Bug Fixes
+     * @param displayPriority int order of changelog section, lower first
+     * @param bump Bump caused by commits of this type
+     * @param builtIn CommitType, null for registered custom types
+     */
+    public record Definition(String prefix, String fullName, int displayPriority, Bump bump, CommitType builtIn) {
+        /**
+         * @return boolean true if type is one of {@link CommitType}
+         */
+        public boolean isBuiltIn() {
+            return null != builtIn;
+        }
+    }
+
+    /**
+     * Position of type and following header elements, as found by {@link #matchHeader(CharSequence, int, int)}
+     * @param type Definition
+     * @param scopeStart int index of first scope character
+     * @param scopeEnd int index after last scope character, equal to scopeStart if there is no scope
+     * @param breakingChange boolean true if type is followed by '!' marker
+     * @param descriptionStart int index of first description character
+     * @param descriptionEnd int index after last description character
+     */
+    record HeaderMatch(Definition type, int scopeStart, int scopeEnd, boolean breakingChange,
+            int descriptionStart, int descriptionEnd) {}
+
+    /**
+     * Characters allowed in type names: a-z, 0-9, '_' and '-', matching {@code [\w\-]} without upper case
+     */
+    private static final int ALPHABET_SIZE = 38;
+
+    private static final Object REGISTRATION_LOCK = new Object();
+
+    private static volatile Registry registry = Registry.of(builtInDefinitions());
+
+    /**
+     * Private constructor for uninitializable class
+     */
+    private CommitTypes() {
+    }
+
+    /**
+     * Registers custom commit type or replaces previously registered one with the same prefix
+     * @param prefix String type name, case-insensitive, consisting of letters, digits, '_' and '-'
+     * @param fullName String changelog section name
+     * @param displayPriority int order of changelog section, built-in types use 0 to 10
+     * @param bump Bump caused by commits of this type
+     * @return registered Definition
+     * @throws IllegalArgumentException if prefix is invalid or is a built-in type
+     */
+    public static Definition register(String prefix, String fullName, int displayPriority, Bump bump) {
+        if (null == prefix || prefix.isEmpty()) {
+            throw new IllegalArgumentException("Commit type prefix must not be empty");
+        }
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lowerPrefix.length(); i++) {
+            if (charIndex(lowerPrefix.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Commit type prefix may only contain letters, digits, '_' and '-': " + prefix);
+            }
+        }
+        if (null == bump) {
+            throw new IllegalArgumentException("Bump of commit type must not be null");
+        }
+        Definition definition = new Definition(lowerPrefix, fullName, displayPriority, bump, null);
+        synchronized (REGISTRATION_LOCK) {
+            Map<String, Definition> definitions = new LinkedHashMap<>(registry.definitions);
+            Definition existing = definitions.get(lowerPrefix);
+            if (null != existing && existing.isBuiltIn()) {
+                throw new IllegalArgumentException("Commit type " + prefix + " is built-in and cannot be replaced");
+            }
+            definitions.put(lowerPrefix, definition);
+            registry = Registry.of(definitions);
+        }
+        return definition;
+    }
+
+    /**
+     * Removes registered custom commit type
+     * @param prefix String type name, case-insensitive
+     * @return boolean true if custom type was registered
+     */
+    public static boolean unregister(String prefix) {
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        synchronized (REGISTRATION_LOCK) {
+            Definition existing = registry.definitions.get(lowerPrefix);
+            if (null == existing || existing.isBuiltIn()) {
+                return false;
+            }
+            Map<String, Definition> definitions = new LinkedHashMap<>(registry.definitions);
+            definitions.remove(lowerPrefix);
+            registry = Registry.of(definitions);
+        }
+        return true;
+    }
+
+    /**
+     * Looks up commit type by name
+     * @param name String, case-insensitive
+     * @return Optional of Definition, empty if type is not known
+     */
+    public static Optional<Definition> of(String name) {
+        Node node = registry.root;
+        for (int i = 0; i < name.length() && null != node; i++) {
+            int index = charIndex(toLowerAscii(name.charAt(i)));
+            node = (index < 0) ? null : node.children[index];
+        }
+        return Optional.ofNullable((null == node) ? null : node.definition);
+    }
+
+    /**
+     * @param type CommitType
+     * @return Definition of built-in type
+     */
+    public static Definition of(CommitType type) {
+        return registry.definitions.get(type.getPrefix());
+    }
+
+    /**
+     * @return List of all known types, built-in first, then custom in order of registration
+     */
+    public static List<Definition> definitions() {
+        return Collections.unmodifiableList(new ArrayList<>(registry.definitions.values()));
+    }
+
+    /**
+     * Matches commit header {@code <type>[(<scope>)][!]:<whitespace><description>} in the same way as
+     * {@link CommitParserUtil#COMMIT_MESSAGE_REGEX}: parentheses around scope are optional and unpaired
+     * parentheses are accepted. Header is trimmed before matching. If several types are prefixes of the header,
+     * the longest one which leads to a match is used.
+     * @param text CharSequence
+     * @param start int index of first character of header
+     * @param end int index after last character of header
+     * @return HeaderMatch, null if header does not match
+     */
+    static HeaderMatch matchHeader(CharSequence text, int start, int end) {
+        return matchHeader(text, start, end, false);
+    }
+
+    /**
+     * Matches commit header {@code <type>[(<scope>)][!]: <description>} with the rules of
+     * {@link CommitParserUtil#isConventionalCommit(String)}: scope must be non-empty and enclosed in parentheses,
+     * separator must be a colon and single space and the header must not be surrounded by whitespace
+     * @param text CharSequence
+     * @param start int index of first character of header
+     * @param end int index after last character of header
+     * @return HeaderMatch, null if header does not match
+     */
+    static HeaderMatch matchStrictHeader(CharSequence text, int start, int end) {
+        return matchHeader(text, start, end, true);
+    }
+
+    private static HeaderMatch matchHeader(CharSequence text, int start, int end, boolean strict) {
+        if (!strict) {
+            while (start < end && text.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && text.charAt(end - 1) <= ' ') {
+                end--;
+            }
+        }
+        Registry current = registry;
+        // try types which are prefixes of the header from the longest, the trie is walked again only if it fails
+        int limit = end - start;
+        while (limit > 0) {
+            Node node = current.root;
+            Definition type = null;
+            int typeLength = 0;
+            for (int depth = 0; depth < limit && null != node; depth++) {
+                int index = charIndex(toLowerAscii(text.charAt(start + depth)));
+                node = (index < 0) ? null : node.children[index];
+                if (null != node && null != node.definition) {
+                    type = node.definition;
+                    typeLength = depth + 1;
+                }
+            }
+            if (null == type) {
+                return null;
+            }
+            HeaderMatch match = strict ? matchStrictRest(text, type, start + typeLength, end)
+                    : matchRest(text, type, start + typeLength, end);
+            if (null != match) {
+                return match;
+            }
+            limit = typeLength - 1;
+        }
+        return null;
+    }
+
+    /**
+     * {@code [(]?([\w\-]+)?[)]?(!)?:\s(.+)}
+     */
+    private static HeaderMatch matchRest(CharSequence text, Definition type, int pos, int end) {
+        if (pos < end && text.charAt(pos) == '(') {
+            pos++;
+        }
+        int scopeStart = pos;
+        while (pos < end && isWordChar(text.charAt(pos))) {
+            pos++;
+        }
+        int scopeEnd = pos;
+        if (pos < end && text.charAt(pos) == ')') {
+            pos++;
+        }
+        boolean breakingChange = pos < end && text.charAt(pos) == '!';
+        if (breakingChange) {
+            pos++;
+        }
+        if (pos + 2 >= end || text.charAt(pos) != ':' || !isWhitespace(text.charAt(pos + 1))
+                || isLineTerminator(text.charAt(pos + 2))) {
+            return null;
+        }
+        int descriptionStart = pos + 2;
+        int descriptionEnd = descriptionStart;
+        while (descriptionEnd < end && !isLineTerminator(text.charAt(descriptionEnd))) {
+            descriptionEnd++;
+        }
+        return new HeaderMatch(type, scopeStart, scopeEnd, breakingChange, descriptionStart, descriptionEnd);
+    }
+
+    /**
+     * {@code (?:\(([\w-]+)\))?(!)?: .+$} matched against the rest of header
+     */
+    private static HeaderMatch matchStrictRest(CharSequence text, Definition type, int pos, int end) {
+        int scopeStart = pos;
+        int scopeEnd = pos;
+        if (pos < end && text.charAt(pos) == '(') {
+            int scopePos = pos + 1;
+            while (scopePos < end && isWordChar(text.charAt(scopePos))) {
+                scopePos++;
+            }
+            if (scopePos > pos + 1 && scopePos < end && text.charAt(scopePos) == ')') {
+                scopeStart = pos + 1;
+                scopeEnd = scopePos;
+                pos = scopePos + 1;
+            }
+        }
+        boolean breakingChange = pos < end && text.charAt(pos) == '!';
+        if (breakingChange) {
+            pos++;
+        }
+        if (pos + 2 >= end || text.charAt(pos) != ':' || text.charAt(pos + 1) != ' ') {
+            return null;
+        }
+        for (int i = pos + 2; i < end; i++) {
+            if (isLineTerminator(text.charAt(i))) {
+                return null;
+            }
+        }
+        return new HeaderMatch(type, scopeStart, scopeEnd, breakingChange, pos + 2, end);
+    }
+
+    /**
+     * @param c char
+     * @return int index of lower case type name character in trie node, -1 if not allowed
+     */
+    private static int charIndex(char c) {
+        int index = -1;
+        if (c >= 'a' && c <= 'z') {
+            index = c - 'a';
+        } else if (c >= '0' && c <= '9') {
+            index = 26 + c - '0';
+        } else if (c == '_') {
+            index = 36;
+        } else if (c == '-') {
+            index = 37;
+        }
+        return index;
+    }
+
+    /**
+     * Case folding of type names is ASCII only, same as of regex with {@code CASE_INSENSITIVE} flag
+     */
+    private static char toLowerAscii(char c) {
+        return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    /**
+     * @param c char
+     * @return true if c is matched by {@code \s}
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\013' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * @param c char
+     * @return true if c is not matched by '.'
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static Map<String, Definition> builtInDefinitions() {
+        Map<String, Definition> definitions = new LinkedHashMap<>();
+        for (CommitType type : CommitType.values()) {
+            Bump bump = (type == CommitType.FEAT || type == CommitType.REFACTOR) ? Bump.MINOR : Bump.PATCH;
+            definitions.put(type.getPrefix(), new Definition(type.getPrefix(), type.getFullName(),
+                    type.getDisplayPriority(), bump, type));
+        }
+        return definitions;
+    }
+
+    /**
+     * Trie node, children are indexed by {@link #charIndex(char)}
+     */
+    private static final class Node {
+        private final Node[] children = new Node[ALPHABET_SIZE];
+        private Definition definition;
+    }
+
+    /**
+     * Immutable snapshot of known types and trie compiled from them
+     */
+    private static final class Registry {
+        private final Map<String, Definition> definitions;
+        private final Node root;
+
+        private Registry(Map<String, Definition> definitions, Node root) {
+            this.definitions = definitions;
+            this.root = root;
+        }
+
+        private static Registry of(Map<String, Definition> definitions) {
+            Node root = new Node();
+            for (Definition definition : definitions.values()) {
+                Node node = root;
+                for (int i = 0; i < definition.prefix().length(); i++) {
+                    int index = charIndex(definition.prefix().charAt(i));
+                    if (null == node.children[index]) {
+                        node.children[index] = new Node();
+                    }
+                    node = node.children[index];
+                }
+                node.definition = definition;
+            }
+            return new Registry(Collections.unmodifiableMap(definitions), root);
+        }
+    }
+}
@@ -10,11 +10,21 @@ import java.util.stream.Stream;
 
 /**
  * Class ConventionalCommit
+ * 
+ * Commits returned by {@link CommitParserUtil#parseRawCommit(String)} keep the raw message with offsets of
+ * body and footer, which are materialized and memoized on first access. Breaking change flags of body and
+ * footer are resolved during parsing, so header getters and {@link #isBreakingChange()} never materialize them.
  */
 public final class ConventionalCommit {
     private final CommitMessage commitMessage;
-    private final CommitBody commitBody;
-    private final CommitFooter commitFooter;
+    private final CharSequence source; // null if body and footer were supplied on construction
+    private final int bodyStart;
+    private final int bodyEnd;
+    private final int footerStart;
+    private final boolean isBodyBreakingChange;
+    private final boolean isFooterBreakingChange;
+    private volatile CommitBody commitBody;
+    private volatile CommitFooter commitFooter;
 
     /**
      * Constructs ConventionalCommit object
@@ -26,6 +36,33 @@ public final class ConventionalCommit {
         this.commitMessage = commitMessage;
         this.commitBody = commitBody;
         this.commitFooter = commitFooter;
+        this.source = null;
+        this.bodyStart = -1;
+        this.bodyEnd = -1;
+        this.footerStart = -1;
+        this.isBodyBreakingChange = null != commitBody && commitBody.isBreakingChange();
+        this.isFooterBreakingChange = null != commitFooter && commitFooter.isBreakingChange();
+    }
+
+    /**
+     * Constructs ConventionalCommit object with body and footer parsed on demand from raw message
+     * @param commitMessage CommitMessage 
+     * @param source CharSequence raw commit message
+     * @param bodyStart int index of first body line, -1 if there is no body
+     * @param bodyEnd int index after last non-blank body line
+     * @param footerStart int index of first footer line, -1 if there is no footer, footer spans till the end of message
+     * @param isBodyBreakingChange boolean
+     * @param isFooterBreakingChange boolean
+     */
+    ConventionalCommit(CommitMessage commitMessage, CharSequence source, int bodyStart, int bodyEnd, int footerStart,
+            boolean isBodyBreakingChange, boolean isFooterBreakingChange) {
+        this.commitMessage = commitMessage;
+        this.source = source;
+        this.bodyStart = bodyStart;
+        this.bodyEnd = bodyEnd;
+        this.footerStart = footerStart;
+        this.isBodyBreakingChange = isBodyBreakingChange;
+        this.isFooterBreakingChange = isFooterBreakingChange;
     }
 
     /**
@@ -55,11 +92,54 @@ public final class ConventionalCommit {
     }
 
     
+    /** 
+     * @return CommitBody, materialized from raw message on first access
+     */
+    private CommitBody resolveBody() {
+        CommitBody body = this.commitBody;
+        if (null == body) {
+            // racing threads build equal bodies, so no locking is needed
+            body = (bodyStart < 0) ? CommitBody.EMPTY
+                    : new CommitBody(CommitLineClassifier.splitLines(source.subSequence(bodyStart, bodyEnd).toString()));
+            this.commitBody = body;
+        }
+        return body;
+    }
+
+    
+    /** 
+     * @return CommitFooter, materialized from raw message on first access
+     */
+    private CommitFooter resolveFooter() {
+        CommitFooter footer = this.commitFooter;
+        if (null == footer) {
+            if (footerStart < 0) {
+                footer = CommitFooter.EMPTY;
+            } else {
+                // footer holds trailer lines only, blank lines between them are skipped
+                StringBuilder rawFooter = new StringBuilder();
+                int lineStart = footerStart;
+                while (lineStart <= source.length()) {
+                    int lineEnd = CommitLineClassifier.lineEnd(source, lineStart);
+                    int contentEnd = CommitLineClassifier.contentEnd(source, lineStart, lineEnd);
+                    if (contentEnd > lineStart) {
+                        rawFooter.append(source, lineStart, contentEnd).append(System.lineSeparator());
+                    }
+                    lineStart = lineEnd + 1;
+                }
+                footer = new CommitFooter(rawFooter.toString());
+            }
+            this.commitFooter = footer;
+        }
+        return footer;
+    }
+
+    
     /** 
      * @return String
      */
     public String getFooter() {
-        return commitFooter.getFooter();
+        return resolveFooter().getFooter();
     }
 
     
@@ -67,7 +147,7 @@ public final class ConventionalCommit {
      * @return String
      */
     public String getBody() {
-        return commitBody.getBody();
+        return resolveBody().getBody();
     }
     
     
@@ -75,7 +155,7 @@ public final class ConventionalCommit {
      * @return String
      */
     public String getRawBody() {
-    	return commitBody.getRawBody();
+    	return resolveBody().getRawBody();
     }
 
     
@@ -88,13 +168,21 @@ public final class ConventionalCommit {
 
     
     /** 
-     * @return CommitType
+     * @return CommitType, null if commit is of registered custom type
      */
     public CommitType getType() {
         return commitMessage.getType();
     }
 
     
+    /** 
+     * @return CommitTypes.Definition of built-in or registered custom type
+     */
+    public CommitTypes.Definition getTypeDefinition() {
+        return commitMessage.getTypeDefinition();
+    }
+
+    
     /** 
      * @return String
      */
@@ -124,8 +212,8 @@ public final class ConventionalCommit {
      */
     public boolean isBreakingChange() {
         return commitMessage.isBreakingChange()
-            || commitBody.isBreakingChange()
-            || commitFooter.isBreakingChange();
+            || isBodyBreakingChange
+            || isFooterBreakingChange;
     }
 
     
@@ -133,7 +221,10 @@ public final class ConventionalCommit {
      * @return String
      */
     public String getBreakingChangeDescription() {
-        return Stream.of(commitFooter, commitBody, commitMessage)
+        if (!isBreakingChange()) {
+            return "";
+        }
+        return Stream.of(resolveFooter(), resolveBody(), commitMessage)
             .filter(BreakingChangeItem::isBreakingChange)
             .map(BreakingChangeItem::getBreakingChangeDescription)
             .map(string -> string.replace("BREAKING-CHANGE: ", ""))
@@ -0,0 +1,125 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.reliza.versioning.VersionSchema.CacheStats;
+
+/**
+ * Size-bounded concurrent map with hit, miss and eviction statistics, shared by the schema cache of
+ * {@link VersionSchema} and by {@link VersionInterner}.
+ *
+ * <p>Lookups do not lock: entries live in a {@link ConcurrentHashMap} and a hit only records its access time
+ * on the entry. Size is bounded approximately - when an insert grows the map beyond maximum size, the inserting
+ * thread evicts entries until the map fits again, each time removing the least recently used of a small sample
+ * of entries. Eviction runs in one thread at a time, inserts racing with it do not wait, so the map may
+ * temporarily exceed maximum size by the number of concurrent inserts.</p>
+ *
+ */
+final class BoundedCache<K, V> {
+
+	/**
+	 * Number of entries compared on each eviction
+	 */
+	private static final int EVICTION_SAMPLE_SIZE = 8;
+
+	private final int maxSize;
+	private final ConcurrentHashMap<K, Node<V>> map = new ConcurrentHashMap<>();
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	private static final class Node<V> {
+		private final V value;
+		private volatile long accessTime;
+
+		private Node (V value) {
+			this.value = value;
+			this.accessTime = System.nanoTime();
+		}
+	}
+
+	/**
+	 * @param maxSize int maximum number of entries, 0 or less disables caching
+	 */
+	BoundedCache (int maxSize) {
+		this.maxSize = Math.max(maxSize, 0);
+	}
+
+	boolean isEnabled () {
+		return maxSize > 0;
+	}
+
+	/**
+	 * Returns cached value and records hit or miss
+	 * @param key K
+	 * @return V, null if key is not cached
+	 */
+	V get (K key) {
+		Node<V> node = map.get(key);
+		if (null == node) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		node.accessTime = System.nanoTime();
+		return node.value;
+	}
+
+	/**
+	 * Caches value unless key is already cached. Values are computed outside of the cache,
+	 * so concurrent misses on the same key may compute twice, with the first value retained.
+	 * @param key K
+	 * @param value V
+	 * @return V value retained in the cache, supplied value if caching is disabled
+	 */
+	V putIfAbsent (K key, V value) {
+		if (!isEnabled()) return value;
+		Node<V> existing = map.putIfAbsent(key, new Node<>(value));
+		if (null != existing) return existing.value;
+		if (map.size() > maxSize) evict();
+		return value;
+	}
+
+	void clear () {
+		map.clear();
+	}
+
+	CacheStats stats () {
+		return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), map.size(), maxSize);
+	}
+
+	private void evict () {
+		if (!evictionLock.tryLock()) return;
+		try {
+			Iterator<Map.Entry<K, Node<V>>> it = map.entrySet().iterator();
+			while (map.size() > maxSize) {
+				// sample continues where previous one stopped, so all entries get compared over time
+				Map.Entry<K, Node<V>> victim = null;
+				for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+					if (!it.hasNext()) {
+						if (null != victim) break;
+						it = map.entrySet().iterator();
+						if (!it.hasNext()) return;
+					}
+					Map.Entry<K, Node<V>> candidate = it.next();
+					if (null == victim || candidate.getValue().accessTime - victim.getValue().accessTime < 0) {
+						victim = candidate;
+					}
+				}
+				if (map.remove(victim.getKey(), victim.getValue())) evictions.increment();
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.reliza.changelog.CommitParseResult;
+import io.reliza.changelog.CommitParserUtil;
+import io.reliza.changelog.CommitTypes;
+import io.reliza.changelog.CommitTypes.Definition;
+import io.reliza.changelog.ConventionalCommit;
+import io.reliza.versioning.VersionApi.ActionEnum;
+
+/**
+ * This class folds a stream of commit messages into the strongest bump action and changelog entries grouped
+ * by commit type, including custom types registered in {@link CommitTypes}, without holding the whole history
+ * in memory. Input is NUL-delimited, as produced by {@code git log -z --format=%B <from>..<to>}; every message
+ * is parsed as in {@link VersionApi#getActionFromRawCommit(String)}, messages which are not conventional commits
+ * are counted and skipped without throwing exceptions. Only the message being parsed and a bounded number
+ * of entries per type are kept in memory.
+ *
+ * <p>Instances hold configuration only and are safe for concurrent use.</p>
+ *
+ */
+public final class ChangelogAggregator {
+
+	/**
+	 * Default maximum number of entries retained per commit type
+	 */
+	public static final int DEFAULT_MAX_ENTRIES_PER_TYPE = 1000;
+
+	private static final char RECORD_SEPARATOR = '\0';
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final Comparator<Definition> SECTION_ORDER = Comparator.comparingInt(Definition::displayPriority)
+			.thenComparing(Definition::prefix);
+
+	/**
+	 * Changelog entry of a single conventional commit
+	 */
+	public static record Entry (String scope, String message, boolean breakingChange) {}
+
+	/**
+	 * Outcome of aggregation.
+	 * Action is the strongest action of all commits, null if there were no conventional commits.
+	 * Counts hold number of commits per type, entries hold at most maximum configured entries per type in input order,
+	 * both are ordered by display priority of types.
+	 * Complete is false if reading stopped early on a breaking change, in which case counts and entries cover
+	 * only commits read so far.
+	 */
+	public static record Summary (ActionEnum action, Map<Definition, Long> counts, Map<Definition, List<Entry>> entries,
+			long commitCount, long skippedCount, boolean complete) {}
+
+	private final boolean stopOnMajor;
+	private final int maxEntriesPerType;
+
+	/**
+	 * Creates aggregator which reads the whole input and retains {@value #DEFAULT_MAX_ENTRIES_PER_TYPE} entries per type
+	 */
+	public ChangelogAggregator () {
+		this(false, DEFAULT_MAX_ENTRIES_PER_TYPE);
+	}
+
+	/**
+	 * Creates aggregator
+	 * @param stopOnMajor boolean, if true reading stops at the first breaking change, since action cannot get stronger
+	 * @param maxEntriesPerType int maximum number of entries retained per type, 0 to only count commits
+	 */
+	public ChangelogAggregator (boolean stopOnMajor, int maxEntriesPerType) {
+		if (maxEntriesPerType < 0) {
+			throw new IllegalArgumentException("Maximum of entries per type must not be negative");
+		}
+		this.stopOnMajor = stopOnMajor;
+		this.maxEntriesPerType = maxEntriesPerType;
+	}
+
+	/**
+	 * Aggregates NUL-delimited commit messages read from UTF-8 input stream, stream is not closed
+	 * @param in InputStream
+	 * @return Summary
+	 * @throws IOException if reading fails
+	 */
+	public Summary aggregate (InputStream in) throws IOException {
+		return aggregate(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Aggregates NUL-delimited commit messages read from reader, reader is not closed
+	 * @param reader Reader
+	 * @return Summary
+	 * @throws IOException if reading fails
+	 */
+	public Summary aggregate (Reader reader) throws IOException {
+		Accumulator acc = new Accumulator();
+		StringBuilder message = new StringBuilder();
+		char[] buffer = new char[BUFFER_SIZE];
+		int read;
+		while ((read = reader.read(buffer)) >= 0) {
+			int start = 0;
+			for (int i = 0; i < read; i++) {
+				if (buffer[i] == RECORD_SEPARATOR) {
+					message.append(buffer, start, i - start);
+					start = i + 1;
+					if (acc.add(message) && stopOnMajor) {
+						return acc.toSummary(false);
+					}
+					message.setLength(0);
+				}
+			}
+			message.append(buffer, start, read - start);
+		}
+		// last message may come without trailing separator
+		acc.add(message);
+		return acc.toSummary(true);
+	}
+
+	/**
+	 * Running totals of a single aggregation
+	 */
+	private final class Accumulator {
+		private final Map<Definition, Long> counts = new TreeMap<>(SECTION_ORDER);
+		private final Map<Definition, List<Entry>> entries = new TreeMap<>(SECTION_ORDER);
+		private ActionEnum action = null;
+		private long commitCount = 0;
+		private long skippedCount = 0;
+
+		/**
+		 * Adds single message to totals
+		 * @return true if message is a breaking change
+		 */
+		private boolean add (CharSequence rawMessage) {
+			// git terminates every message with a line break
+			String message = StringUtils.strip(rawMessage.toString());
+			if (message.isEmpty()) return false;
+			commitCount++;
+			CommitParseResult result = CommitParserUtil.tryParseRawCommit(message);
+			if (!result.isSuccess()) {
+				skippedCount++;
+				return false;
+			}
+			ConventionalCommit commit = result.commit();
+			ActionEnum commitAction = VersionApi.getActionFromConventionalCommit(commit);
+			if (strength(commitAction) > strength(action)) action = commitAction;
+			Definition type = commit.getTypeDefinition();
+			counts.merge(type, 1L, Long::sum);
+			List<Entry> typeEntries = entries.computeIfAbsent(type, t -> new ArrayList<>());
+			if (typeEntries.size() < maxEntriesPerType) {
+				typeEntries.add(new Entry(commit.getScope(), commit.getMessage(), commit.isBreakingChange()));
+			}
+			return ActionEnum.BUMP_MAJOR == commitAction;
+		}
+
+		private Summary toSummary (boolean complete) {
+			Map<Definition, List<Entry>> entriesView = new TreeMap<>(SECTION_ORDER);
+			for (Map.Entry<Definition, List<Entry>> e : entries.entrySet()) {
+				entriesView.put(e.getKey(), Collections.unmodifiableList(e.getValue()));
+			}
+			return new Summary(action, Collections.unmodifiableMap(counts), Collections.unmodifiableMap(entriesView),
+					commitCount, skippedCount, complete);
+		}
+	}
+
+	/**
+	 * Ranks actions resulting from conventional commits, null being the weakest
+	 */
+	private static int strength (ActionEnum ae) {
+		int strength = 0;
+		if (ActionEnum.BUMP_MAJOR == ae) {
+			strength = 3;
+		} else if (ActionEnum.BUMP_MINOR == ae) {
+			strength = 2;
+		} else if (null != ae) {
+			strength = 1;
+		}
+		return strength;
+	}
+}
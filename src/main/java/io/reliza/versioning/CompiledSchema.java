@@ -0,0 +1,294 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import io.reliza.versioning.VersionElement.ParsedVersionElement;
+
+/**
+ * Immutable, pre-parsed representation of a version schema.
+ * Instances are obtained via {@link VersionSchema#compile(String)} and may be shared between threads
+ * and reused for any number of parse, match, bump and render calls against the same schema.
+ *
+ */
+public final class CompiledSchema {
+
+	private final String schema;
+	private final String resolvedSchema;
+	private final CompiledSchema resolved;
+	private final ParsedVersionElement[] elements;
+	private final List<ParsedVersionElement> elementList;
+	private final List<VersionElement> versionElementList;
+	private final Set<VersionElement> elementSet;
+	private final List<String> separators;
+
+	private final boolean semver;
+	private final boolean fourPart;
+	private final boolean calver;
+	private final boolean hasModifier;
+	private final boolean hasMetadata;
+	private final boolean hasBranch;
+
+	// facts below are derived from the schema string exactly as supplied (i.e. before alias resolution),
+	// since this is what version parsing has always been keyed on
+	private final boolean handleBranchInVersion;
+	private final boolean dashInSchemaAfterBranch;
+	private final List<ParsedVersionElement> elementsWithoutMetadata;
+	private final List<ParsedVersionElement> elementsWithoutModifier;
+	private final List<ParsedVersionElement> elementsWithoutModifierAndMetadata;
+	private final Version.RenderPlan renderPlan;
+
+	/**
+	 * Package-private constructor, use {@link VersionSchema#compile(String)} instead
+	 * @param schema String, schema as supplied by the caller
+	 * @param resolved CompiledSchema of the schema this alias resolves to, null if schema is not an alias
+	 */
+	CompiledSchema (String schema, CompiledSchema resolved) {
+		this.schema = schema;
+		if (null == resolved) {
+			this.resolved = this;
+			this.resolvedSchema = schema;
+			this.elements = VersionUtils.parseSchema(schema).toArray(new ParsedVersionElement[0]);
+			this.elementList = Collections.unmodifiableList(Arrays.asList(this.elements));
+			this.versionElementList = elementList.stream().map(ParsedVersionElement::ve).toList();
+			EnumSet<VersionElement> veSet = EnumSet.noneOf(VersionElement.class);
+			veSet.addAll(versionElementList);
+			this.elementSet = Collections.unmodifiableSet(veSet);
+			this.separators = List.copyOf(VersionUtils.extractSchemaSeparators(schema));
+		} else {
+			this.resolved = resolved;
+			this.resolvedSchema = resolved.schema;
+			this.elements = resolved.elements;
+			this.elementList = resolved.elementList;
+			this.versionElementList = resolved.versionElementList;
+			this.elementSet = resolved.elementSet;
+			this.separators = resolved.separators;
+		}
+
+		this.semver = isStructuredAs(3, VersionElement.MAJOR, VersionElement.MINOR, VersionElement.PATCH);
+		this.fourPart = isStructuredAs(4, VersionElement.MAJOR, VersionElement.MINOR, VersionElement.PATCH,
+				VersionElement.NANO);
+		this.calver = elementSet.contains(VersionElement.OY) ||
+				elementSet.contains(VersionElement.YY) ||
+				elementSet.contains(VersionElement.YYYY) ||
+				elementSet.contains(VersionElement.YYYYOM) ||
+				elementSet.contains(VersionElement.YYOM);
+		this.hasModifier = elementSet.contains(VersionElement.SEMVER_MODIFIER)
+				|| elementSet.contains(VersionElement.CALVER_MODIFIER);
+		this.hasMetadata = elementSet.contains(VersionElement.METADATA);
+		this.hasBranch = elementSet.contains(VersionElement.BRANCH);
+
+		String lcBranch = VersionElement.BRANCH.name().toLowerCase();
+		this.handleBranchInVersion = schema.toLowerCase().contains(lcBranch);
+		this.dashInSchemaAfterBranch = handleBranchInVersion && schema.contains("-")
+				&& schema.indexOf("-") > schema.toLowerCase().indexOf(lcBranch);
+
+		String noMeta = VersionUtils.stripSchemaFromMetadata(schema);
+		String noMod = VersionUtils.stripSchemaFromModifier(schema);
+		String noModMeta = VersionUtils.stripSchemaFromModifier(noMeta);
+		this.elementsWithoutMetadata = resolveStrippedElements(noMeta);
+		this.elementsWithoutModifier = resolveStrippedElements(noMod);
+		this.elementsWithoutModifierAndMetadata = resolveStrippedElements(noModMeta);
+		this.renderPlan = (null == resolved) ? new Version.RenderPlan(this) : resolved.renderPlan;
+	}
+
+	private List<ParsedVersionElement> resolveStrippedElements (String strippedSchema) {
+		return strippedSchema.equals(schema) ? elementList
+				: List.copyOf(VersionUtils.parseSchema(strippedSchema));
+	}
+
+	/**
+	 * Checks that schema starts with exactly the supplied core elements, optionally followed by
+	 * semver modifier and metadata only
+	 * @param coreSize int, number of core elements
+	 * @param core VersionElement array of expected core elements in order
+	 * @return true if schema has such structure
+	 */
+	private boolean isStructuredAs (int coreSize, VersionElement... core) {
+		if (elements.length < coreSize || elements.length > coreSize + 2) return false;
+		for (int i = 0; i < coreSize; i++) {
+			if (elements[i].ve() != core[i]) return false;
+		}
+		for (int i = coreSize; i < elements.length; i++) {
+			VersionElement ve = elements[i].ve();
+			if (ve != VersionElement.SEMVER_MODIFIER && ve != VersionElement.METADATA) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns schema string as it was supplied for compilation, may be an alias such as "semver"
+	 * @return schema String
+	 */
+	public String getSchema() {
+		return schema;
+	}
+
+	/**
+	 * Returns schema string with alias resolved, i.e. "Major.Minor.Patch-Modifier?+Metadata?" for "semver"
+	 * @return resolved schema String
+	 */
+	public String getResolvedSchema() {
+		return resolvedSchema;
+	}
+
+	/**
+	 * Returns compiled schema of the resolved schema string, returns this if schema is not an alias
+	 * @return CompiledSchema
+	 */
+	public CompiledSchema resolved() {
+		return resolved;
+	}
+
+	/**
+	 * Returns true if schema was supplied as an alias of one of VersionType schemas
+	 * @return true if alias
+	 */
+	public boolean isAlias() {
+		return resolved != this;
+	}
+
+	/**
+	 * Returns unmodifiable list of parsed schema elements
+	 * @return list of ParsedVersionElement
+	 */
+	public List<ParsedVersionElement> getElements() {
+		return elementList;
+	}
+
+	/**
+	 * Returns parsed schema element at specified position
+	 * @param index int
+	 * @return ParsedVersionElement
+	 */
+	public ParsedVersionElement getElement(int index) {
+		return elements[index];
+	}
+
+	/**
+	 * Returns number of elements in the schema
+	 * @return number of elements
+	 */
+	public int size() {
+		return elements.length;
+	}
+
+	/**
+	 * Returns unmodifiable list of schema version elements in schema order
+	 * @return list of VersionElement
+	 */
+	public List<VersionElement> getVersionElements() {
+		return versionElementList;
+	}
+
+	/**
+	 * Returns unmodifiable set of version elements present in the schema
+	 * @return set of VersionElement
+	 */
+	public Set<VersionElement> getElementSet() {
+		return elementSet;
+	}
+
+	/**
+	 * Returns true if version element is present in the schema
+	 * @param ve VersionElement
+	 * @return true if present
+	 */
+	public boolean contains(VersionElement ve) {
+		return elementSet.contains(ve);
+	}
+
+	/**
+	 * Returns unmodifiable list of schema separators, as per {@link VersionUtils#extractSchemaSeparators(String)}
+	 * @return list of separator Strings
+	 */
+	public List<String> getSeparators() {
+		return separators;
+	}
+
+	/**
+	 * Returns true if schema is semver style, see {@link VersionUtils#isSchemaSemver(String)}
+	 * @return true if semver
+	 */
+	public boolean isSemver() {
+		return semver;
+	}
+
+	/**
+	 * Returns true if schema is four part versioning style, see {@link VersionUtils#isSchemaFourPartVersioning(String)}
+	 * @return true if four part versioning
+	 */
+	public boolean isFourPartVersioning() {
+		return fourPart;
+	}
+
+	/**
+	 * Returns true if schema contains a year element
+	 * @return true if calver
+	 */
+	public boolean isCalver() {
+		return calver;
+	}
+
+	/**
+	 * Returns true if schema contains semver or calver modifier element
+	 * @return true if schema has modifier
+	 */
+	public boolean hasModifier() {
+		return hasModifier;
+	}
+
+	/**
+	 * Returns true if schema contains metadata element
+	 * @return true if schema has metadata
+	 */
+	public boolean hasMetadata() {
+		return hasMetadata;
+	}
+
+	/**
+	 * Returns true if schema contains branch element
+	 * @return true if schema has branch
+	 */
+	public boolean hasBranch() {
+		return hasBranch;
+	}
+
+	boolean isHandleBranchInVersion() {
+		return handleBranchInVersion;
+	}
+
+	boolean isDashInSchemaAfterBranch() {
+		return dashInSchemaAfterBranch;
+	}
+
+	/**
+	 * Returns elements used for version parsing once modifier and/or metadata have been split off the version
+	 * @param stripMetadata boolean
+	 * @param stripModifier boolean
+	 * @return list of ParsedVersionElement
+	 */
+	List<ParsedVersionElement> getParseElements(boolean stripMetadata, boolean stripModifier) {
+		if (stripMetadata && stripModifier) return elementsWithoutModifierAndMetadata;
+		if (stripMetadata) return elementsWithoutMetadata;
+		if (stripModifier) return elementsWithoutModifier;
+		return elementList;
+	}
+
+	Version.RenderPlan getRenderPlan() {
+		return renderPlan;
+	}
+
+	@Override
+	public String toString() {
+		return schema;
+	}
+}
@@ -6,6 +6,8 @@
 
 package io.reliza.versioning;
 
+import java.time.ZoneId;
+
 /**
  * 
  * This class contains various constants used across the project.
@@ -24,4 +26,9 @@ public class Constants {
 	 * maven style snapshot
 	 */	
 	public static final String MAVEN_STYLE_SNAPSHOT = "-SNAPSHOT";
+	
+	/**
+	 * time zone in which CalVer dates are resolved
+	 */
+	public static final ZoneId UTC_ZONE_ID = ZoneId.of("UTC");
 }
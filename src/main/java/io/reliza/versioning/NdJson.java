@@ -0,0 +1,256 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Minimal reader and writer of flat JSON objects, one per line, as used by CLI batch mode.
+ * Only string, number, boolean and null values are supported on input, so no JSON library
+ * (and no reflection configuration for native image) is needed.
+ *
+ */
+final class NdJson {
+
+	/**
+	 * Private constructor for uninitializable class
+	 */
+	private NdJson () {}
+
+	/**
+	 * Number or boolean value as its JSON literal text, written unquoted by {@link #writeObject(StringBuilder, Map)}
+	 */
+	static record Literal (String text) {}
+
+	/**
+	 * Parses flat JSON object into map of field names to their values as text, null fields are omitted
+	 * @param line String holding single JSON object
+	 * @return Map of field names to values, in order of appearance
+	 * @throws IllegalArgumentException if line is not a flat JSON object
+	 */
+	static Map<String, String> parseObject (String line) {
+		return parseObject(line, null);
+	}
+
+	/**
+	 * Parses flat JSON object same as {@link #parseObject(String)}, and collects names of fields
+	 * which hold number or boolean literals rather than strings
+	 * @param line String holding single JSON object
+	 * @param literalFields Set to add names of number and boolean fields to, may be null
+	 * @return Map of field names to values, in order of appearance
+	 * @throws IllegalArgumentException if line is not a flat JSON object
+	 */
+	static Map<String, String> parseObject (String line, Set<String> literalFields) {
+		Reader r = new Reader(line);
+		Map<String, String> fields = new LinkedHashMap<>();
+		r.skipWhitespace();
+		r.expect('{');
+		r.skipWhitespace();
+		if (r.peek() == '}') {
+			r.pos++;
+		} else {
+			boolean more = true;
+			while (more) {
+				r.skipWhitespace();
+				String key = r.readString();
+				r.skipWhitespace();
+				r.expect(':');
+				r.skipWhitespace();
+				boolean literal = r.peek() != '"';
+				String value = r.readValue();
+				if (null != value) {
+					fields.put(key, value);
+					if (literal && null != literalFields) literalFields.add(key);
+				}
+				r.skipWhitespace();
+				char c = r.next();
+				if (c == '}') {
+					more = false;
+				} else if (c != ',') {
+					throw r.error("expected ',' or '}'");
+				}
+			}
+		}
+		r.skipWhitespace();
+		if (r.pos < line.length()) throw r.error("unexpected trailing content");
+		return fields;
+	}
+
+	/**
+	 * Writes flat JSON object, supported values are null, String, Number, Boolean, Literal and List of Strings
+	 * @param sb StringBuilder to append object to
+	 * @param fields Map of field names to values, null values are omitted
+	 * @return supplied StringBuilder
+	 */
+	static StringBuilder writeObject (StringBuilder sb, Map<String, ?> fields) {
+		sb.append('{');
+		boolean first = true;
+		for (Map.Entry<String, ?> field : fields.entrySet()) {
+			Object value = field.getValue();
+			if (null == value) continue;
+			if (!first) sb.append(',');
+			first = false;
+			writeString(sb, field.getKey());
+			sb.append(':');
+			if (value instanceof Number || value instanceof Boolean) {
+				sb.append(value);
+			} else if (value instanceof Literal literal) {
+				sb.append(literal.text());
+			} else if (value instanceof List<?> list) {
+				sb.append('[');
+				for (int i = 0; i < list.size(); i++) {
+					if (i > 0) sb.append(',');
+					writeString(sb, String.valueOf(list.get(i)));
+				}
+				sb.append(']');
+			} else {
+				writeString(sb, value.toString());
+			}
+		}
+		return sb.append('}');
+	}
+
+	private static void writeString (StringBuilder sb, String s) {
+		sb.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+				break;
+			}
+		}
+		sb.append('"');
+	}
+
+	private static final class Reader {
+		private final String s;
+		private int pos = 0;
+
+		private Reader (String s) {
+			this.s = s;
+		}
+
+		private IllegalArgumentException error (String message) {
+			return new IllegalArgumentException("Invalid JSON at position " + pos + ": " + message);
+		}
+
+		private char peek () {
+			if (pos >= s.length()) throw error("unexpected end of input");
+			return s.charAt(pos);
+		}
+
+		private char next () {
+			char c = peek();
+			pos++;
+			return c;
+		}
+
+		private void expect (char expected) {
+			if (next() != expected) {
+				pos--;
+				throw error("expected '" + expected + "'");
+			}
+		}
+
+		private void skipWhitespace () {
+			while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+		}
+
+		/**
+		 * Reads scalar value, strings are unescaped, other scalars are returned as their literal text
+		 * @return value text, null for JSON null
+		 */
+		private String readValue () {
+			char c = peek();
+			if (c == '"') return readString();
+			if (c == '{' || c == '[') throw error("nested objects and arrays are not supported");
+			int start = pos;
+			while (pos < s.length() && ",} \t\r\n".indexOf(s.charAt(pos)) < 0) pos++;
+			String literal = s.substring(start, pos);
+			if ("null".equals(literal)) return null;
+			if ("true".equals(literal) || "false".equals(literal)
+					|| literal.matches("-?(0|[1-9]\\d*)(\\.\\d+)?([eE][+-]?\\d+)?")) {
+				return literal;
+			}
+			pos = start;
+			throw error("unexpected value");
+		}
+
+		private String readString () {
+			expect('"');
+			StringBuilder sb = new StringBuilder();
+			while (true) {
+				char c = next();
+				if (c == '"') return sb.toString();
+				if (c != '\\') {
+					sb.append(c);
+					continue;
+				}
+				char e = next();
+				switch (e) {
+				case '"':
+				case '\\':
+				case '/':
+					sb.append(e);
+					break;
+				case 'b':
+					sb.append('\b');
+					break;
+				case 'f':
+					sb.append('\f');
+					break;
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				case 't':
+					sb.append('\t');
+					break;
+				case 'u':
+					if (pos + 4 > s.length()) throw error("incomplete unicode escape");
+					int code = 0;
+					for (int i = pos; i < pos + 4; i++) {
+						// every character must be an ASCII hex digit, Integer.parseInt would also accept a sign
+						char h = s.charAt(i);
+						int digit = (h <= 'f') ? Character.digit(h, 16) : -1;
+						if (digit < 0) throw error("invalid unicode escape");
+						code = (code << 4) | digit;
+					}
+					sb.append((char) code);
+					pos += 4;
+					break;
+				default:
+					throw error("invalid escape");
+				}
+			}
+		}
+	}
+}
@@ -5,16 +5,20 @@
 
 package io.reliza.versioning;
 
-import java.time.ZoneId;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -43,6 +47,41 @@ public class Version implements Comparable<Version> {
 	 */
 	public enum ModifierPolicy { INHERIT, CLEAR, USE_NAMESPACE }
 	
+	/**
+	 * Reason why version string could not be parsed against schema, see {@link Version#tryParse(String, CompiledSchema)}
+	 *
+	 * <ul>
+	 *   <li>{@link #NULL_VERSION} — version string is null.</li>
+	 *   <li>{@link #SCHEMA_MISMATCH} — version structure does not match schema elements or separators,
+	 *       or carries modifier or metadata the schema has no slot for.</li>
+	 *   <li>{@link #ELEMENT_MISMATCH} — version was split but some component is not valid for its schema element.</li>
+	 *   <li>{@link #NOT_CONSTRUCTIBLE} — version matches schema, but Version cannot be built from it,
+	 *       i.e. numeric element exceeds integer range.</li>
+	 * </ul>
+	 */
+	public enum MismatchReason { NULL_VERSION, SCHEMA_MISMATCH, ELEMENT_MISMATCH, NOT_CONSTRUCTIBLE }
+	
+	/**
+	 * Result of {@link Version#tryParse(String, CompiledSchema)}, holds either parsed version or mismatch reason
+	 */
+	public static record ParseResult (Version version, MismatchReason mismatchReason) {
+		/**
+		 * Returns true if version matched schema and was parsed
+		 * @return true if matching
+		 */
+		public boolean isMatching () {
+			return null != version;
+		}
+		
+		/**
+		 * Returns parsed version if matching, empty otherwise
+		 * @return Optional of Version
+		 */
+		public Optional<Version> toOptional () {
+			return Optional.ofNullable(version);
+		}
+	}
+	
 	/**
 	 * 
 	 * This class is used as a helper to parse version string
@@ -112,10 +151,13 @@ public class Version implements Comparable<Version> {
 	private Integer day;
 	private String metadata; // from semver, 1.0.0+20130313144700
 	private String schema;
+	private CompiledSchema compiledSchema;
 	private String buildid; // i.e. 24 or build24
 	private String buildenv; // i.e. circleci
 	private String branch; // name of branch, i.e. 234-ticket_I_work_on
 	private boolean isSnapshot;
+	private volatile SortKey sortKey; // lazily computed, reset by mutators
+	private int hash; // lazily computed, 0 if not yet computed, reset by mutators
 	
 	/**
 	 * Private constructor to denote uninitializable class
@@ -142,198 +184,415 @@ public class Version implements Comparable<Version> {
 	 * @return version String
 	 */
 	public String constructVersionString(String useSchema, Boolean setIsSnapshot) {
-		if (StringUtils.isEmpty(useSchema)) {
-			useSchema = schema;
+		CompiledSchema cs = StringUtils.isEmpty(useSchema) ? this.compiledSchema : VersionSchema.compile(useSchema);
+		return renderVersionString(cs, setIsSnapshot);
+	}
+	
+	/**
+	 * This method outputs string version based on supplied compiled schema parameter
+	 * If schema parameter is not supplied, uses own schema
+	 * @param useSchema CompiledSchema, if null, uses own schema
+	 * @param setIsSnapshot boolean, true to append Maven Style Snapshot suffix
+	 * @return version String
+	 */
+	public String constructVersionString(CompiledSchema useSchema, boolean setIsSnapshot) {
+		return renderVersionString((null == useSchema) ? this.compiledSchema : useSchema, setIsSnapshot);
+	}
+	
+	/**
+	 * This method appends version string based on own schema and own Maven Style Snapshot status
+	 * to the supplied StringBuilder, output is the same as of {@link #constructVersionString()}.
+	 * If version cannot be rendered, StringBuilder is left unchanged
+	 * @param sb StringBuilder to append to
+	 * @return supplied StringBuilder
+	 */
+	public StringBuilder appendVersionString(StringBuilder sb) {
+		return appendVersionString(sb, this.compiledSchema, null);
+	}
+	
+	/**
+	 * This method appends version string based on supplied compiled schema to the supplied StringBuilder,
+	 * output is the same as of {@link #constructVersionString(String, Boolean)}.
+	 * If version cannot be rendered, StringBuilder is left unchanged
+	 * @param sb StringBuilder to append to
+	 * @param useSchema CompiledSchema, if null, uses own schema
+	 * @param setIsSnapshot Boolean, use current status if Null
+	 * @return supplied StringBuilder
+	 */
+	public StringBuilder appendVersionString(StringBuilder sb, CompiledSchema useSchema, Boolean setIsSnapshot) {
+		int startLength = sb.length();
+		try {
+			((null == useSchema) ? this.compiledSchema : useSchema).getRenderPlan().render(this, sb, setIsSnapshot);
+		} catch (IOException e) {
+			// StringBuilder does not throw
+			throw new UncheckedIOException(e);
+		} catch (RuntimeException e) {
+			sb.setLength(startLength);
+			throw e;
+		}
+		return sb;
+	}
+	
+	/**
+	 * This method writes version string based on own schema and own Maven Style Snapshot status
+	 * to the supplied Appendable without creating intermediate strings.
+	 * If version cannot be rendered, part of it may have already been written
+	 * @param out Appendable, i.e. Writer or StringBuilder
+	 * @throws IOException if thrown by the Appendable
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		this.compiledSchema.getRenderPlan().render(this, out, null);
+	}
+	
+	/**
+	 * This method writes version string based on own schema and own Maven Style Snapshot status
+	 * to the supplied ByteBuffer as ASCII, characters outside of ASCII are written as '?'.
+	 * If version cannot be rendered or does not fit, buffer position is left unchanged
+	 * @param buffer ByteBuffer to write to, starting at its current position
+	 * @return number of bytes written
+	 * @throws java.nio.BufferOverflowException if remaining buffer space is insufficient
+	 */
+	public int writeTo(ByteBuffer buffer) {
+		int startPosition = buffer.position();
+		try {
+			this.compiledSchema.getRenderPlan().render(this, new AsciiByteBufferAppendable(buffer), null);
+		} catch (IOException e) {
+			// ByteBuffer appendable does not throw
+			throw new UncheckedIOException(e);
+		} catch (RuntimeException e) {
+			buffer.position(startPosition);
+			throw e;
+		}
+		return buffer.position() - startPosition;
+	}
+	
+	/**
+	 * Appendable which puts characters to ByteBuffer as ASCII bytes
+	 */
+	private static final class AsciiByteBufferAppendable implements Appendable {
+		private final ByteBuffer buffer;
+		
+		private AsciiByteBufferAppendable (ByteBuffer buffer) {
+			this.buffer = buffer;
 		}
-		StringBuilder versionString = new StringBuilder();
 		
-		Optional<VersionType> ovt = VersionType.resolveByAliasName(useSchema);
-		if (ovt.isPresent()) useSchema = ovt.get().getSchema();
-
-		List<ParsedVersionElement> schemaPveList = VersionUtils.parseSchema(useSchema);
-		List<String> separators = VersionUtils.extractSchemaSeparators(useSchema);
-		try {
-			for (int i=0; i<schemaPveList.size(); i++) {
-				boolean useEl = i < schemaPveList.size() - 1;
-				switch (schemaPveList.get(i).ve()) {
-				case MAJOR:
-					versionString.append(this.major.toString());
-					break;
-				case MINOR:
-					versionString.append(this.minor.toString());
-					break;
-				case PATCH:
-					versionString.append(this.patch.toString());
-					break;
-				case NANO:
-					versionString.append(this.nano.toString());
-					break;
-				case BRANCH:
-					versionString.append(this.branch);
-					break;
-				case BUILDID:
-					versionString.append(this.buildid);
-					break;
-				case BUILDENV:
-					versionString.append(this.buildenv);
-					break;
-				case CALVER_MODIFIER:
-					versionString.append(this.modifier);
-					break;
-				case SEMVER_MODIFIER:
-					// special handler for semver optional modifier
-					char separatorCharMod = '0';
-					if (versionString.length() > 1) {
-						separatorCharMod = versionString.charAt(versionString.length()-1);
-					}
-					if (StringUtils.isNotEmpty(this.modifier)) {
-						// check if we need to add minus
-						if ('-' != separatorCharMod && '+' != separatorCharMod && '.' != separatorCharMod && 
-								'_' != separatorCharMod && '-' != separatorCharMod) {
-							versionString.append('-');
-						}
-						versionString.append(this.modifier);
-					} else {
-						if (versionString.length() > 1 && 
-							('-' == separatorCharMod || '+' == separatorCharMod)) {
-							// delete trailing dash or plus
-							versionString.delete(versionString.length()-1, versionString.length());
-						}
-						useEl = false;
-					}
-					break;
-				case METADATA:
-					char separatorChar = '0';
-					if (versionString.length() > 1) {
-						separatorChar = versionString.charAt(versionString.length()-1);
-					}
-					if (StringUtils.isNotEmpty(this.metadata)) {
-						// check if we need to add plus
-						if ('-' != separatorChar && '+' != separatorChar && '.' != separatorChar && 
-								'_' != separatorChar && '-' != separatorChar) {
-							versionString.append('+');
-						}
-						versionString.append(this.metadata);
-					} else {
-						// special handler for semver optional modifer
-						if ('-' == separatorChar || '+' == separatorChar) {
-							// delete trailing dash or plus
-							versionString.delete(versionString.length()-1, versionString.length());
-						}
-						useEl = false;
-					}
-					break;
-				case YYYY:
-					String yearStr = this.year.toString();
-					if (yearStr.length() == 2) {
-						yearStr = "20" + yearStr;
-					} else if (yearStr.length() == 3) {
-						yearStr = "2" + yearStr;
-					}
-					versionString.append(yearStr);
-					break;
-				case YY:
-					yearStr = this.year.toString();
-					if (yearStr.length() > 2) {
-						yearStr = "" + yearStr.charAt(yearStr.length() - 2) + yearStr.charAt(yearStr.length() - 1);
-						yearStr = Integer.valueOf(Integer
-															.parseInt(yearStr))
-															.toString();
-					}
-					versionString.append(yearStr);
-					break;
-				case OY:
-					if (this.year < 10) {
-						versionString.append("0");
-						versionString.append(this.year.toString());
-					} else if (this.year < 99) {
-						versionString.append(this.year.toString());
-					} else {
-						yearStr = this.year.toString();
-						yearStr = "" + yearStr.charAt(yearStr.length() - 2) + yearStr.charAt(yearStr.length() - 1);
-						yearStr = Integer.valueOf(Integer
-														.parseInt(yearStr))
-														.toString();
-						if (yearStr.length() < 2) {
-							versionString.append("0");
+		@Override
+		public Appendable append (CharSequence csq) {
+			return append(csq, 0, csq.length());
+		}
+		
+		@Override
+		public Appendable append (CharSequence csq, int start, int end) {
+			for (int i = start; i < end; i++) {
+				append(csq.charAt(i));
+			}
+			return this;
+		}
+		
+		@Override
+		public Appendable append (char c) {
+			buffer.put((c < 0x80) ? (byte) c : (byte) '?');
+			return this;
+		}
+	}
+	
+	private String renderVersionString(CompiledSchema cs, Boolean setIsSnapshot) {
+		return appendVersionString(new StringBuilder(), cs, setIsSnapshot).toString();
+	}
+	
+	/**
+	 * Render plan of a schema - element writers and separators following them, resolved once per
+	 * {@link CompiledSchema} and shared by all renders against it
+	 */
+	static final class RenderPlan {
+		private final ElementWriter[] writers;
+		private final String[] separators; // null where schema has no separator after element
+		private final int optionalCount;
+		private final boolean appendModifierToCore;
+		private final String resolvedSchema;
+		
+		RenderPlan (CompiledSchema cs) {
+			List<ParsedVersionElement> pveList = cs.getElements();
+			List<String> separatorList = cs.getSeparators();
+			this.writers = new ElementWriter[pveList.size()];
+			this.separators = new String[pveList.size()];
+			int optionals = 0;
+			for (int i = 0; i < pveList.size(); i++) {
+				this.writers[i] = resolveElementWriter(pveList.get(i).ve());
+				if (VersionElement.SEMVER_MODIFIER == pveList.get(i).ve() || VersionElement.METADATA == pveList.get(i).ve()) {
+					++optionals;
+				}
+				if (i < pveList.size() - 1 && i < separatorList.size()) this.separators[i] = separatorList.get(i);
+			}
+			this.optionalCount = optionals;
+			// If schema doesn't have modifier but modifier is set, append it for pure semver/four-part schemas
+			// Only do this for schemas that are exactly Major.Minor.Patch or Major.Minor.Patch.Nano (no calver elements)
+			this.appendModifierToCore = !cs.hasModifier() && (cs.isSemver() || cs.isFourPartVersioning());
+			this.resolvedSchema = cs.getResolvedSchema();
+		}
+		
+		void render (Version v, Appendable target, Boolean setIsSnapshot) throws IOException {
+			RenderOutput out = new RenderOutput(target, optionalCount);
+			try {
+				for (int i = 0; i < writers.length; i++) {
+					boolean useEl = writers[i].write(v, out) && i < writers.length - 1;
+					if (useEl) {
+						if (null == separators[i]) {
+							throw new RuntimeException("The schema " + resolvedSchema + " has no separator after element " + (i + 1));
 						}
-						versionString.append(yearStr);
-					}
-					break;
-				case MM:
-					versionString.append(this.month.toString());
-					break;
-				case OM:
-					if (this.month < 10) {
-						versionString.append("0");
-					}
-					versionString.append(this.month.toString());
-					break;
-				case YYOM:
-					yearStr = this.year.toString();
-					if (yearStr.length() > 2) {
-						yearStr = "" + yearStr.charAt(yearStr.length() - 2) + yearStr.charAt(yearStr.length() - 1);
-						yearStr = Integer.valueOf(Integer
-															.parseInt(yearStr))
-															.toString();
-					}
-					versionString.append(yearStr);
-					if (this.month < 10) {
-						versionString.append("0");
-					}
-					versionString.append(this.month.toString());
-					break;
-				case YYYYOM:
-					yearStr = this.year.toString();
-					if (yearStr.length() == 2) {
-						yearStr = "20" + yearStr;
-					} else if (yearStr.length() == 3) {
-						yearStr = "2" + yearStr;
+						out.append(separators[i]);
 					}
-					versionString.append(yearStr);
-					if (this.month < 10) {
-						versionString.append("0");
-					}
-					versionString.append(this.month.toString());
-					break;
-				case DD:
-					versionString.append(this.day.toString());
-					break;
-				case OD:
-					if (this.day < 10) {
-						versionString.append("0");
-					}
-					versionString.append(this.day.toString());
-					break;
-				default:
-					break;
 				}
-				if (useEl) {
-					versionString.append(separators.get(i));
+				if (appendModifierToCore && StringUtils.isNotEmpty(v.modifier)) {
+					out.append('-');
+					out.append(v.modifier);
+				}
+				boolean setSnapshot = (null == setIsSnapshot) ? v.isSnapshot() : setIsSnapshot;
+				if (setSnapshot) {
+					out.append(Constants.MAVEN_STYLE_SNAPSHOT);
 				}
+			} catch (NullPointerException npe) {
+				throw new RuntimeException("The schema " + resolvedSchema + " is not supported by this Version object");
 			}
-			// If schema doesn't have modifier but modifier is set, append it for pure semver/four-part schemas
-			// Only do this for schemas that are exactly Major.Minor.Patch or Major.Minor.Patch.Nano (no calver elements)
-			boolean schemaHasModifier = schemaPveList.stream()
-				.anyMatch(pve -> pve.ve() == VersionElement.SEMVER_MODIFIER || pve.ve() == VersionElement.CALVER_MODIFIER);
-			boolean isPureSemverOrFourPart = VersionUtils.isSchemaSemver(useSchema) || VersionUtils.isSchemaFourPartVersioning(useSchema);
-			if (!schemaHasModifier && StringUtils.isNotEmpty(this.modifier) && isPureSemverOrFourPart) {
-				versionString.append('-');
-				versionString.append(this.modifier);
+			out.finish();
+		}
+	}
+	
+	/**
+	 * Writes a version element, returns false if separator following the element must be skipped
+	 */
+	@FunctionalInterface
+	private interface ElementWriter {
+		boolean write (Version v, RenderOutput out) throws IOException;
+	}
+	
+	private static ElementWriter resolveElementWriter (VersionElement ve) {
+		switch (ve) {
+		case MAJOR:
+			return (v, out) -> out.append((int) v.major);
+		case MINOR:
+			return (v, out) -> out.append((int) v.minor);
+		case PATCH:
+			return (v, out) -> out.append((int) v.patch);
+		case NANO:
+			return (v, out) -> out.append((int) v.nano);
+		case BRANCH:
+			return (v, out) -> out.append(v.branch);
+		case BUILDID:
+			return (v, out) -> out.append(v.buildid);
+		case BUILDENV:
+			return (v, out) -> out.append(v.buildenv);
+		case CALVER_MODIFIER:
+			return (v, out) -> out.append(v.modifier);
+		case SEMVER_MODIFIER:
+			return (v, out) -> writeOptionalElement(out, v.modifier, '-');
+		case METADATA:
+			return (v, out) -> writeOptionalElement(out, v.metadata, '+');
+		case YYYY:
+			return (v, out) -> writeFullYear(out, v.year);
+		case YY:
+			return (v, out) -> writeShortYear(out, v.year);
+		case OY:
+			return (v, out) -> {
+				int year = v.year;
+				if (year < 10) {
+					out.append('0');
+					out.append(year);
+				} else if (year < 99) {
+					out.append(year);
+				} else {
+					writeZeroPadded(out, year % 100);
+				}
+				return true;
+			};
+		case MM:
+			return (v, out) -> out.append((int) v.month);
+		case OM:
+			return (v, out) -> writeZeroPadded(out, v.month);
+		case YYOM:
+			return (v, out) -> {
+				int month = v.month;
+				writeShortYear(out, v.year);
+				return writeZeroPadded(out, month);
+			};
+		case YYYYOM:
+			return (v, out) -> {
+				int month = v.month;
+				writeFullYear(out, v.year);
+				return writeZeroPadded(out, month);
+			};
+		case DD:
+			return (v, out) -> out.append((int) v.day);
+		case OD:
+			return (v, out) -> writeZeroPadded(out, v.day);
+		default:
+			return (v, out) -> true;
+		}
+	}
+	
+	/**
+	 * Semver modifier and metadata are optional - when value is present, default separator is added unless
+	 * previous character is already a separator, when absent, trailing dash or plus is removed
+	 */
+	private static boolean writeOptionalElement (RenderOutput out, String value, char defaultSeparator) throws IOException {
+		char separatorChar = (out.length() > 1) ? out.lastChar() : '0';
+		if (StringUtils.isNotEmpty(value)) {
+			if ('-' != separatorChar && '+' != separatorChar && '.' != separatorChar && '_' != separatorChar) {
+				out.append(defaultSeparator);
 			}
-			
-			Boolean setSnapshot = (null == setIsSnapshot) ? null : setIsSnapshot;
-			if (null == setSnapshot) {
-				setSnapshot = isSnapshot();
+			out.append(value);
+			return true;
+		}
+		if ('-' == separatorChar || '+' == separatorChar) {
+			// delete trailing dash or plus
+			out.deleteLastChar();
+		}
+		return false;
+	}
+	
+	/**
+	 * 2 and 3 character years are completed to 4 characters with "20" or "2" prefix
+	 */
+	private static boolean writeFullYear (RenderOutput out, int year) throws IOException {
+		int yearLength = RenderOutput.intLength(year);
+		if (yearLength == 2) {
+			out.append("20");
+		} else if (yearLength == 3) {
+			out.append('2');
+		}
+		out.append(year);
+		return true;
+	}
+	
+	/**
+	 * Years longer than 2 characters are reduced to their last 2 digits, without leading zero
+	 */
+	private static boolean writeShortYear (RenderOutput out, int year) throws IOException {
+		out.append((RenderOutput.intLength(year) > 2) ? Math.abs(year % 100) : year);
+		return true;
+	}
+	
+	private static boolean writeZeroPadded (RenderOutput out, int value) throws IOException {
+		if (value < 10) {
+			out.append('0');
+		}
+		out.append(value);
+		return true;
+	}
+	
+	/**
+	 * Appendable wrapper used by render plans. Trailing dash and plus characters are held back, so that optional
+	 * elements can retract the separator preceding them without rewriting the target. Each optional element
+	 * retracts at most one character, so no more characters are held back than schema has optional elements.
+	 */
+	private static final class RenderOutput {
+		private final Appendable target;
+		private final char[] held; // oldest first
+		private int heldCount = 0;
+		private int length = 0;
+		private char lastWritten = '0';
+		
+		private RenderOutput (Appendable target, int maxHeld) {
+			this.target = target;
+			this.held = new char[maxHeld];
+		}
+		
+		private static boolean isRetractable (char c) {
+			return '-' == c || '+' == c;
+		}
+		
+		private static int intLength (int value) {
+			int len = (value < 0) ? 2 : 1;
+			long magnitude = Math.abs((long) value);
+			while (magnitude >= 10) {
+				magnitude /= 10;
+				++len;
 			}
-			if (setSnapshot) {
-				versionString.append(Constants.MAVEN_STYLE_SNAPSHOT);
+			return len;
+		}
+		
+		private int length () {
+			return length;
+		}
+		
+		private char lastChar () {
+			return (heldCount > 0) ? held[heldCount - 1] : lastWritten;
+		}
+		
+		private void deleteLastChar () {
+			if (heldCount == 0) {
+				throw new IllegalStateException("Cannot retract character which was already written");
 			}
-			
-		} catch (NullPointerException npe) {
-			throw new RuntimeException("The schema " + useSchema + " is not supported by this Version object");
+			--heldCount;
+			--length;
+		}
+		
+		private boolean append (char c) throws IOException {
+			if (isRetractable(c) && held.length > 0) {
+				if (heldCount == held.length) {
+					write(held[0]);
+					System.arraycopy(held, 1, held, 0, --heldCount);
+				}
+				held[heldCount++] = c;
+			} else {
+				writeHeld();
+				write(c);
+			}
+			++length;
+			return true;
+		}
+		
+		private boolean append (CharSequence cs) throws IOException {
+			if (null == cs) cs = "null";
+			int retractableFrom = cs.length();
+			while (retractableFrom > 0 && isRetractable(cs.charAt(retractableFrom - 1))) {
+				--retractableFrom;
+			}
+			if (retractableFrom > 0) {
+				writeHeld();
+				target.append(cs, 0, retractableFrom);
+				lastWritten = cs.charAt(retractableFrom - 1);
+				length += retractableFrom;
+			}
+			for (int i = retractableFrom; i < cs.length(); i++) {
+				append(cs.charAt(i));
+			}
+			return true;
+		}
+		
+		private boolean append (int value) throws IOException {
+			long magnitude = value;
+			if (magnitude < 0) {
+				append('-');
+				magnitude = -magnitude;
+			}
+			long divisor = 1;
+			while (divisor * 10 <= magnitude) {
+				divisor *= 10;
+			}
+			writeHeld();
+			for (; divisor > 0; divisor /= 10) {
+				write((char) ('0' + (magnitude / divisor) % 10));
+				++length;
+			}
+			return true;
+		}
+		
+		private void write (char c) throws IOException {
+			target.append(c);
+			lastWritten = c;
+		}
+		
+		private void writeHeld () throws IOException {
+			for (int i = 0; i < heldCount; i++) {
+				write(held[i]);
+			}
+			heldCount = 0;
+		}
+		
+		private void finish () throws IOException {
+			writeHeld();
 		}
-		return versionString.toString();
 	}
 	
 	/**
@@ -363,11 +622,12 @@ public class Version implements Comparable<Version> {
 	 */
 	public void setDate(ZonedDateTime date) {
 		if (null == date) {
-			date = ZonedDateTime.now(ZoneId.of("UTC"));
+			date = ZonedDateTime.now(Constants.UTC_ZONE_ID);
 		}
 		this.year = date.getYear();
 		this.month = date.getMonth().getValue();
 		this.day = date.getDayOfMonth();
+		resetCachedKeys();
 	}
 	
 	/**
@@ -377,12 +637,31 @@ public class Version implements Comparable<Version> {
 		setDate(null);
 	}
 	
+	/**
+	 * Sets version date for CalVer to today as per supplied clock
+	 * @param clock Clock, system clock if null
+	 */
+	public void setCurrentDate(Clock clock) {
+		setDate(resolveCurrentDate(clock));
+	}
+	
+	/**
+	 * Reads supplied clock once and returns current date in UTC
+	 * @param clock Clock, system clock if null
+	 * @return current ZonedDateTime in UTC
+	 */
+	static ZonedDateTime resolveCurrentDate(Clock clock) {
+		return (null == clock) ? ZonedDateTime.now(Constants.UTC_ZONE_ID)
+				: ZonedDateTime.ofInstant(clock.instant(), Constants.UTC_ZONE_ID);
+	}
+	
 	/**
 	 * Sets the nano element of the version to the nano parameter
 	 * @param nano, value to set nano element to
 	 */
 	public void setNano(Integer nano) {
 		this.nano = nano;
+		resetCachedKeys();
 	}
 	
 	/**
@@ -399,6 +678,7 @@ public class Version implements Comparable<Version> {
 	 */
 	public void setPatch(Integer patch) {
 		this.patch = patch;
+		resetCachedKeys();
 	}
 	
 	/**
@@ -415,6 +695,7 @@ public class Version implements Comparable<Version> {
 	 */
 	public void setMinor(Integer minor) {
 		this.minor = minor;
+		resetCachedKeys();
 	}
 	
 	/**
@@ -431,6 +712,7 @@ public class Version implements Comparable<Version> {
 	 */
 	public void setMajor(Integer major) {
 		this.major = major;
+		resetCachedKeys();
 	}
 	
 	/**
@@ -450,6 +732,7 @@ public class Version implements Comparable<Version> {
 			step = 1;
 		}
 		this.nano = nano + step;
+		resetCachedKeys();
 	}
 	
 	/**
@@ -463,6 +746,7 @@ public class Version implements Comparable<Version> {
 		}
 		this.patch = patch + step;
 		this.nano = 0;
+		resetCachedKeys();
 	}
 	
 	/**
@@ -479,6 +763,7 @@ public class Version implements Comparable<Version> {
 		this.minor = minor + step;
 		this.patch = 0;
 		this.nano = 0;
+		resetCachedKeys();
 	}
 	
 	/**
@@ -496,6 +781,7 @@ public class Version implements Comparable<Version> {
 		this.minor = 0;
 		this.patch = 0;
 		this.nano = 0;
+		resetCachedKeys();
 	}
 	
 	/**
@@ -504,6 +790,7 @@ public class Version implements Comparable<Version> {
 	 */
 	public void setModifier(String modifier) {
 		this.modifier = modifier;
+		resetCachedKeys();
 	}
 	
 	/**
@@ -512,6 +799,7 @@ public class Version implements Comparable<Version> {
 	 */
 	public void setMetadata(String metadata) {
 		this.metadata = metadata;
+		resetCachedKeys();
 	}
 	
 	/**
@@ -520,7 +808,23 @@ public class Version implements Comparable<Version> {
 	 * otherwise bumps date to today's if using CalVer
 	 */
 	public void simpleBump () {
-		Set<VersionElement> veList = VersionUtils.parseSchema(schema).stream().map(x -> x.ve()).collect(Collectors.toSet());
+		simpleBump((ZonedDateTime) null);
+	}
+	
+	/**
+	 * Same as {@link #simpleBump()}, with CalVer date taken from supplied clock
+	 * @param clock Clock, system clock if null
+	 */
+	public void simpleBump (Clock clock) {
+		simpleBump(resolveCurrentDate(clock));
+	}
+	
+	/**
+	 * Same as {@link #simpleBump()}, with CalVer date bumped to supplied date
+	 * @param date ZonedDateTime, current date if null
+	 */
+	private void simpleBump (ZonedDateTime date) {
+		Set<VersionElement> veList = compiledSchema.getElementSet();
 		if (veList.contains(VersionElement.PATCH)) {
 			this.bumpPatch(null);
 		} else if (veList.contains(VersionElement.MINOR)) {
@@ -530,7 +834,7 @@ public class Version implements Comparable<Version> {
 				   veList.contains(VersionElement.YYOM) ||
 				   veList.contains(VersionElement.YYYYOM) ||
 				   veList.contains(VersionElement.OY)) {
-			this.setCurrentDate();
+			this.setDate(date);
 		}
 	}
 	
@@ -548,6 +852,7 @@ public class Version implements Comparable<Version> {
 	 */
 	public void setSnapshot(boolean snapshot) {
 		this.isSnapshot = snapshot;
+		resetCachedKeys();
 	}
 
 	/**
@@ -564,6 +869,7 @@ public class Version implements Comparable<Version> {
 	 */
 	public void setBuildid(String buildid) {
 		this.buildid = buildid;
+		resetCachedKeys();
 	}
 
 	/**
@@ -580,6 +886,7 @@ public class Version implements Comparable<Version> {
 	 */
 	public void setBuildenv(String buildenv) {
 		this.buildenv = buildenv;
+		resetCachedKeys();
 	}
 	
 	
@@ -615,15 +922,44 @@ public class Version implements Comparable<Version> {
 		return metadata;
 	}
 
+	/**
+	 * Returns immutable snapshot of this version, later changes to this version do not affect it
+	 * @return VersionValue
+	 */
+	public VersionValue toValue() {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
 	/**
 	 * Factory method to initialize version based on specified schema
 	 * @param schema String
 	 * @return Version object corresponding to the supplied schema
 	 */
 	public static Version getVersion (String schema) {
+		return getVersion(VersionSchema.compile(schema));
+	}
+	
+	/**
+	 * Factory method to initialize version based on specified compiled schema
+	 * @param cs CompiledSchema
+	 * @return Version object corresponding to the supplied schema
+	 */
+	public static Version getVersion (CompiledSchema cs) {
+		return getVersion(cs, null);
+	}
+	
+	/**
+	 * Factory method to initialize version based on specified compiled schema, with CalVer date taken from supplied clock
+	 * @param cs CompiledSchema
+	 * @param clock Clock, system clock if null
+	 * @return Version object corresponding to the supplied schema
+	 */
+	public static Version getVersion (CompiledSchema cs, Clock clock) {
 		Version v = new Version();
-		v.schema = schema;
-		Set<VersionElement> schemaVeList = VersionUtils.parseSchema(schema).stream().map(x -> x.ve()).collect(Collectors.toSet());
+		v.schema = cs.getSchema();
+		v.compiledSchema = cs;
+		Set<VersionElement> schemaVeList = cs.getElementSet();
 		if (schemaVeList.contains(VersionElement.MINOR)) {
 			v.minor = 1;
 			v.major = 0;
@@ -648,7 +984,32 @@ public class Version implements Comparable<Version> {
 		if (schemaVeList.contains(VersionElement.CALVER_MODIFIER)) {
 			v.modifier = Constants.BASE_MODIFIER;
 		}
-		v.setCurrentDate();
+		v.setCurrentDate(clock);
+		return v;
+	}
+	
+	/**
+	 * Factory method to create a mutable Version object with the same fields as supplied immutable value
+	 * @param value VersionValue
+	 * @return new Version object
+	 */
+	public static Version getVersion (VersionValue value) {
+		Version v = new Version();
+		v.compiledSchema = value.getCompiledSchema();
+		v.schema = v.compiledSchema.getSchema();
+		v.major = value.getMajor();
+		v.minor = value.getMinor();
+		v.patch = value.getPatch();
+		v.nano = value.getNano();
+		v.year = value.getYear();
+		v.month = value.getMonth();
+		v.day = value.getDay();
+		v.modifier = value.getModifier();
+		v.metadata = value.getMetadata();
+		v.buildid = value.getBuildid();
+		v.buildenv = value.getBuildenv();
+		v.branch = value.getBranch();
+		v.isSnapshot = value.isSnapshot();
 		return v;
 	}
 	
@@ -659,20 +1020,86 @@ public class Version implements Comparable<Version> {
 	 * @return Version object corresponding to supplied schema and based on supplied original version string
 	 */
 	public static Version getVersion (String origVersion, String schema) {
-		if (!VersionUtils.isVersionMatchingSchema(schema, origVersion)) {
-			throw new RuntimeException("Cannot construct Version object, since version is not matching schema, schema = " + schema + " , version = " + origVersion);
+		return getVersion(origVersion, VersionSchema.compile(schema));
+	}
+	
+	/**
+	 * Factory method to create a Version object based on version string (origVersion) and specified compiled schema
+	 * @param origVersion String
+	 * @param cs CompiledSchema
+	 * @return Version object corresponding to supplied schema and based on supplied original version string
+	 */
+	public static Version getVersion (String origVersion, CompiledSchema cs) {
+		MatchedVersion mv = matchVersion(origVersion, cs);
+		if (mv.mismatchReason() == MismatchReason.NOT_CONSTRUCTIBLE) {
+			throw new RuntimeException("Version does not match schema: version = " + origVersion + " , schema = " + cs.getResolvedSchema());
+		} else if (null != mv.mismatchReason()) {
+			throw new RuntimeException("Cannot construct Version object, since version is not matching schema, schema = " + cs.getSchema() + " , version = " + origVersion);
+		}
+		return fromVersionHelper(mv.versionHelper(), cs);
+	}
+	
+	/**
+	 * Parses version string against specified schema without throwing on mismatch
+	 * @param origVersion String
+	 * @param schema String
+	 * @return ParseResult holding either parsed Version or mismatch reason
+	 */
+	public static ParseResult tryParse (String origVersion, String schema) {
+		return tryParse(origVersion, VersionSchema.compile(schema));
+	}
+	
+	/**
+	 * Parses version string against specified compiled schema without throwing on mismatch.
+	 * Version is validated and constructed from a single parse, so this should be preferred over
+	 * calling {@link VersionUtils#isVersionMatchingSchema(CompiledSchema, String)} followed by
+	 * {@link #getVersion(String, CompiledSchema)}
+	 * @param origVersion String
+	 * @param cs CompiledSchema
+	 * @return ParseResult holding either parsed Version or mismatch reason
+	 */
+	public static ParseResult tryParse (String origVersion, CompiledSchema cs) {
+		if (null == origVersion) return new ParseResult(null, MismatchReason.NULL_VERSION);
+		MatchedVersion mv = matchVersion(origVersion, cs);
+		if (null != mv.mismatchReason()) return new ParseResult(null, mv.mismatchReason());
+		try {
+			return new ParseResult(fromVersionHelper(mv.versionHelper(), cs), null);
+		} catch (NumberFormatException e) {
+			return new ParseResult(null, MismatchReason.NOT_CONSTRUCTIBLE);
+		}
+	}
+	
+	/**
+	 * Parses version with resolved schema and validates parsed components against schema elements.
+	 * For aliases, such as "semver", matching has always been checked against the unresolved schema, which strips
+	 * modifier and metadata from parse elements differently - results only differ when resolved parse fails,
+	 * so the second parse is only done on that path
+	 * @param origVersion String
+	 * @param cs CompiledSchema
+	 * @return MatchedVersion
+	 */
+	private static MatchedVersion matchVersion (String origVersion, CompiledSchema cs) {
+		Optional<VersionHelper> ovh = VersionUtils.parseVersion(origVersion, cs.resolved(), false);
+		if (ovh.isPresent()) {
+			return VersionUtils.isMatchingSchemaElements(cs, ovh.get()) ? new MatchedVersion(ovh.get(), null)
+					: new MatchedVersion(null, MismatchReason.ELEMENT_MISMATCH);
+		}
+		if (cs.isAlias() && VersionUtils.isVersionMatchingSchema(cs, origVersion)) {
+			return new MatchedVersion(null, MismatchReason.NOT_CONSTRUCTIBLE);
 		}
+		return new MatchedVersion(null, MismatchReason.SCHEMA_MISMATCH);
+	}
+	
+	private static record MatchedVersion (VersionHelper versionHelper, MismatchReason mismatchReason) {}
+	
+	private static Version fromVersionHelper (VersionHelper vh, CompiledSchema cs) {
 		Version v = new Version();
-		v.schema = schema;
-
-		Optional<VersionType> ovt = VersionType.resolveByAliasName(schema);
-		if (ovt.isPresent()) schema = ovt.get().getSchema();
-		Optional<VersionHelper> ovh = VersionUtils.parseVersion(origVersion, schema, false);
-		if (ovh.isEmpty()) throw new RuntimeException("Version does not match schema: version = " + origVersion + " , schema = " + schema);
-		v.modifier = ovh.get().getModifier();
-		v.metadata = ovh.get().getMetadata();
-		v.isSnapshot = ovh.get().isSnapshot();
-		for (VersionComponent vc : ovh.get().getVersionComponents()) {
+		v.schema = cs.getSchema();
+		v.compiledSchema = cs;
+		v.modifier = vh.getModifier();
+		v.metadata = vh.getMetadata();
+		v.isSnapshot = vh.isSnapshot();
+		for (VersionComponent vc : vh.getVersionComponents()) {
 			switch (vc.pve().ve()) {
 			case MAJOR:
 				v.major = Integer.parseInt(vc.representation());
@@ -749,6 +1176,15 @@ public class Version implements Comparable<Version> {
 		return getVersionFromPinAndOldVersion(schema, pin, null, null);
 	}
 	
+	/** 
+	 * @param cs CompiledSchema  
+	 * @param pin String 
+	 * @return Version
+	 */
+	public static Version getVersionFromPin (CompiledSchema cs, String pin) {
+		return getVersionFromPinAndOldVersion(cs, pin, null, null);
+	}
+	
 	/** 
 	 * @param schema String  
 	 * @param pin String 
@@ -759,17 +1195,49 @@ public class Version implements Comparable<Version> {
 		return getVersionFromPinAndOldVersion(schema, pin, null, null, namespace);
 	}
 	
+	/** 
+	 * @param cs CompiledSchema  
+	 * @param pin String 
+	 * @param namespace String - if supplied and no modifier exists, modifier is set to namespace; if modifier exists, it becomes namespace + number
+	 * @return Version
+	 */
+	public static Version getVersionFromPin (CompiledSchema cs, String pin, String namespace) {
+		return getVersionFromPinAndOldVersion(cs, pin, null, null, namespace);
+	}
+	
 	/**
-	 * This method validates input for get version call and throws exception if not valid
-	 * @param schema
-	 * @param pin
-	 * @param oldVersionString
+	 * Schema and pin resolved once for any number of version bumps sharing them: pin is validated against schema,
+	 * its alias resolved and it is parsed both against the schema as supplied and the resolved schema
 	 */
-	private static void validateGetVersionFromPinAndOldVersionInput(String schema, String pin, String oldVersionString) {
-		if (!VersionUtils.isPinMatchingSchema(schema, pin)) {
-			throw new RuntimeException("Cannot construct Version object, since pin is not matching schema");
+	static final class BumpContext {
+		private final CompiledSchema cs;
+		private final Optional<VersionHelper> pinHelper;
+		private final Optional<VersionHelper> pinMatchHelper;
+
+		/**
+		 * @param cs CompiledSchema
+		 * @param pin String
+		 * @throws RuntimeException if pin is not matching schema
+		 */
+		BumpContext (CompiledSchema cs, String pin) {
+			if (!VersionUtils.isPinMatchingSchema(cs, pin)) {
+				throw new RuntimeException("Cannot construct Version object, since pin is not matching schema");
+			}
+			this.cs = cs;
+			Optional<VersionType> ovtpin = VersionType.resolveByAliasName(pin);
+			if (ovtpin.isPresent()) pin = ovtpin.get().getSchema();
+			this.pinHelper = VersionUtils.parseVersion(pin, cs.resolved(), true);
+			this.pinMatchHelper = VersionUtils.parseVersion(pin, cs, true);
 		}
-		if (StringUtils.isNotEmpty(oldVersionString) && !VersionUtils.isVersionMatchingSchemaAndPin(schema, pin, oldVersionString)) {
+	}
+
+	/**
+	 * This method validates old version for get version call and throws exception if not valid
+	 * @param bc
+	 * @param oldVersionString
+	 */
+	private static void validateOldVersionInput(BumpContext bc, String oldVersionString) {
+		if (StringUtils.isNotEmpty(oldVersionString) && !VersionUtils.isVersionMatchingParsedPin(bc.cs, bc.pinMatchHelper, oldVersionString)) {
 			throw new RuntimeException("Cannot construct Version object, since old version is not matching either pin or schema");
 		}
 	}
@@ -781,7 +1249,7 @@ public class Version implements Comparable<Version> {
 	 * @param oldV
 	 * @param ae
 	 */
-	private static void initializeVersionElements (Version v, Version oldV, ActionEnum ae) {
+	private static void initializeVersionElements (Version v, Version oldV, ActionEnum ae, ZonedDateTime now) {
 		if (null != oldV && null != oldV.getMinor()) {
 			v.minor = oldV.getMinor();
 		} else {
@@ -803,7 +1271,7 @@ public class Version implements Comparable<Version> {
 			v.nano = 0;
 		}
 		if (ae != ActionEnum.BUMP_PATCH) {
-			v.setCurrentDate();
+			v.setDate(now);
 		}
 		if (null != oldV && null != oldV.year) {
 			v.year = oldV.year;
@@ -822,18 +1290,16 @@ public class Version implements Comparable<Version> {
 	 * @param ae
 	 * @return
 	 */
-	private static ActionEnum resolveNewVersionAction (List<VersionElement> schemaVeList, ActionEnum ae, String oldVersionString) {
-		Set<String> veElementCheck = schemaVeList.stream().map(sv -> sv.toString()).collect(Collectors.toSet());
-		
-		if (ae == ActionEnum.BUMP_MAJOR && !veElementCheck.contains("MAJOR")) {
+	private static ActionEnum resolveNewVersionAction (Set<VersionElement> veElementCheck, ActionEnum ae, String oldVersionString) {
+		if (ae == ActionEnum.BUMP_MAJOR && !veElementCheck.contains(VersionElement.MAJOR)) {
 			ae = ActionEnum.BUMP_MINOR;
 		}
 		
-		if (ae == ActionEnum.BUMP_MINOR && !veElementCheck.contains("MINOR")) {
+		if (ae == ActionEnum.BUMP_MINOR && !veElementCheck.contains(VersionElement.MINOR)) {
 			ae = ActionEnum.BUMP;
 		}
 		
-		if (ae == ActionEnum.BUMP_PATCH && !veElementCheck.contains("MICRO") && !veElementCheck.contains("PATCH")) {
+		if (ae == ActionEnum.BUMP_PATCH && !veElementCheck.contains(VersionElement.PATCH)) {
 			ae = ActionEnum.BUMP;
 		}
 		if (StringUtils.isNotEmpty(oldVersionString) && null == ae) ae = ActionEnum.BUMP;
@@ -847,15 +1313,14 @@ public class Version implements Comparable<Version> {
 	 * @param oldVersionString
 	 * @param schema
 	 */
-	private static void populateNewVersionFromOldVersion (Version v, String oldVersionString, String schema, ModifierPolicy policy) {
+	private static void populateNewVersionFromOldVersion (Version v, String oldVersionString, CompiledSchema cs, ModifierPolicy policy) {
 		if (StringUtils.isEmpty(oldVersionString)) return;
-		Optional<VersionHelper> ovh = VersionUtils.parseVersion(oldVersionString, schema, false);
+		Optional<VersionHelper> ovh = VersionUtils.parseVersion(oldVersionString, cs, false);
 		if (ovh.isEmpty()) return;
 		v.isSnapshot = ovh.get().isSnapshot();
 		if (policy == ModifierPolicy.CLEAR) return;
 
-		Set<VersionElement> schemaEls = VersionUtils.parseSchema(schema).stream()
-				.map(ParsedVersionElement::ve).collect(Collectors.toSet());
+		Set<VersionElement> schemaEls = cs.getElementSet();
 		if (schemaEls.contains(VersionElement.SEMVER_MODIFIER)
 				|| schemaEls.contains(VersionElement.CALVER_MODIFIER)) {
 			v.modifier = ovh.get().getModifier();
@@ -948,10 +1413,10 @@ public class Version implements Comparable<Version> {
 	 * @param schemaElement
 	 * @param ae
 	 * @param oldV
+	 * @param date current date
 	 */
 	private static void resolveDatesAsCurrentForNewVersion (Version v, VersionElement schemaElement,
-			ActionEnum ae, Version oldV) {
-		ZonedDateTime date = ZonedDateTime.now(ZoneId.of("UTC"));
+			ActionEnum ae, Version oldV, ZonedDateTime date) {
 		switch (schemaElement) {
 		case YYYY:
 		case YY:
@@ -974,7 +1439,7 @@ public class Version implements Comparable<Version> {
 	}
 
 	private static void handleCalverOnSemverUpdates (Version v, Set<VersionElement> elsProtectedByPin,
-		ActionEnum ae, Version oldV, List<VersionElement> schemaVeList, String namespace) {
+		ActionEnum ae, Version oldV, List<VersionElement> schemaVeList, String namespace, ZonedDateTime now) {
 
 		if (ae == ActionEnum.BUMP_PATCH && !elsProtectedByPin.contains(VersionElement.PATCH)) {
 			++v.patch;
@@ -1019,14 +1484,14 @@ public class Version implements Comparable<Version> {
 					 && !elsProtectedByPin.contains(VersionElement.NANO)) {
 				++v.nano;
 			} else {
-				resolveModifierMetadataUpdate(v, oldV, namespace);
+				resolveModifierMetadataUpdate(v, oldV, namespace, now);
 			}
 		} else if (StringUtils.isNotEmpty(namespace) && StringUtils.isEmpty(v.modifier)) {
 			v.setModifier(namespace);
 		}
 	}
 
-	private static void resolveModifierMetadataUpdate (Version v, Version oldV, String namespace) {
+	private static void resolveModifierMetadataUpdate (Version v, Version oldV, String namespace, ZonedDateTime now) {
 		if (StringUtils.isNotEmpty(namespace)) {
 			if (StringUtils.isEmpty(v.modifier)) {
 				v.setModifier(namespace + "1");
@@ -1046,7 +1511,7 @@ public class Version implements Comparable<Version> {
 					v.setMetadata(i.toString());
 				}
 			} else {
-				v.simpleBump();
+				v.simpleBump(now);
 			}
 		} else {
 			if (StringUtils.isEmpty(v.modifier)) {
@@ -1062,7 +1527,7 @@ public class Version implements Comparable<Version> {
 					v.setMetadata(i.toString());
 				}
 			} else {
-				v.simpleBump();
+				v.simpleBump(now);
 			}
 		}
 	}
@@ -1120,26 +1585,97 @@ public class Version implements Comparable<Version> {
 	 * @return Version object
 	 */
 	public static Version getVersionFromPinAndOldVersion (String schema, String pin, String oldVersionString, ActionEnum ae, String namespace, ModifierPolicy policy) {
-		validateGetVersionFromPinAndOldVersionInput(schema, pin, oldVersionString);
+		return getVersionFromPinAndOldVersion(VersionSchema.compile(schema), pin, oldVersionString, ae, namespace, policy);
+	}
+	
+	/**
+	 * Same as {@link #getVersionFromPinAndOldVersion(String, String, String, ActionEnum)}, but uses compiled schema
+	 * @param cs CompiledSchema, required
+	 * @param pin String, required
+	 * @param oldVersionString String, optional
+	 * @param ae ActionEnum
+	 * @return Version object
+	 */
+	public static Version getVersionFromPinAndOldVersion (CompiledSchema cs, String pin, String oldVersionString, ActionEnum ae) {
+		return getVersionFromPinAndOldVersion(cs, pin, oldVersionString, ae, null);
+	}
+	
+	/**
+	 * Same as {@link #getVersionFromPinAndOldVersion(String, String, String, ActionEnum, String)}, but uses compiled schema
+	 * @param cs CompiledSchema, required
+	 * @param pin String, required
+	 * @param oldVersionString String, optional
+	 * @param ae ActionEnum
+	 * @param namespace String, optional
+	 * @return Version object
+	 */
+	public static Version getVersionFromPinAndOldVersion (CompiledSchema cs, String pin, String oldVersionString, ActionEnum ae, String namespace) {
+		ModifierPolicy policy = StringUtils.isNotEmpty(namespace)
+				? ModifierPolicy.USE_NAMESPACE
+				: ModifierPolicy.INHERIT;
+		return getVersionFromPinAndOldVersion(cs, pin, oldVersionString, ae, namespace, policy);
+	}
+	
+	/**
+	 * Same as {@link #getVersionFromPinAndOldVersion(String, String, String, ActionEnum, String, ModifierPolicy)}, but uses compiled schema
+	 * @param cs CompiledSchema, required
+	 * @param pin String, required
+	 * @param oldVersionString String, optional
+	 * @param ae ActionEnum
+	 * @param namespace String, optional
+	 * @param policy modifier handling policy; must not be null
+	 * @return Version object
+	 */
+	public static Version getVersionFromPinAndOldVersion (CompiledSchema cs, String pin, String oldVersionString, ActionEnum ae, String namespace, ModifierPolicy policy) {
+		return getVersionFromPinAndOldVersion(cs, pin, oldVersionString, ae, namespace, policy, null);
+	}
+	
+	/**
+	 * Same as {@link #getVersionFromPinAndOldVersion(CompiledSchema, String, String, ActionEnum, String, ModifierPolicy)},
+	 * with current date for CalVer elements read once from supplied clock
+	 * @param cs CompiledSchema, required
+	 * @param pin String, required
+	 * @param oldVersionString String, optional
+	 * @param ae ActionEnum
+	 * @param namespace String, optional
+	 * @param policy modifier handling policy; must not be null
+	 * @param clock Clock, system clock if null
+	 * @return Version object
+	 */
+	public static Version getVersionFromPinAndOldVersion (CompiledSchema cs, String pin, String oldVersionString, ActionEnum ae, String namespace, ModifierPolicy policy, Clock clock) {
+		BumpContext bc = new BumpContext(cs, pin);
+		return getVersionFromPinAndOldVersion(bc, oldVersionString, ae, namespace, policy, resolveCurrentDate(clock));
+	}
+	
+	/**
+	 * Same as {@link #getVersionFromPinAndOldVersion(CompiledSchema, String, String, ActionEnum, String, ModifierPolicy)},
+	 * but with schema and pin resolved beforehand and current date supplied, so both can be shared by many bumps
+	 * @param bc BumpContext
+	 * @param oldVersionString String, optional
+	 * @param ae ActionEnum
+	 * @param namespace String, optional
+	 * @param policy modifier handling policy; must not be null
+	 * @param now current date used for CalVer elements
+	 * @return Version object
+	 */
+	static Version getVersionFromPinAndOldVersion (BumpContext bc, String oldVersionString, ActionEnum ae, String namespace, ModifierPolicy policy, ZonedDateTime now) {
+		validateOldVersionInput(bc, oldVersionString);
+		CompiledSchema cs = bc.cs;
 		Version v = new Version();
-		v.schema = schema;
-		Optional<VersionType> ovt = VersionType.resolveByAliasName(schema);
-		if (ovt.isPresent()) schema = ovt.get().getSchema();
+		v.schema = cs.getSchema();
+		v.compiledSchema = cs;
+		CompiledSchema rcs = cs.resolved();
 		Version oldV = null;
-		if (StringUtils.isNotEmpty(oldVersionString)) oldV = Version.getVersion(oldVersionString, schema);
-		
-		List<ParsedVersionElement> schemaPveList = VersionUtils.parseSchema(schema);
-		List<VersionElement> schemaVeList = schemaPveList.stream().map(x -> x.ve()).toList();
-		ae = resolveNewVersionAction(schemaVeList, ae, oldVersionString);
+		if (StringUtils.isNotEmpty(oldVersionString)) oldV = Version.getVersion(oldVersionString, rcs);
 		
-		Optional<VersionType> ovtpin = VersionType.resolveByAliasName(pin);
-		if (ovtpin.isPresent()) pin = ovtpin.get().getSchema();
+		List<VersionElement> schemaVeList = rcs.getVersionElements();
+		ae = resolveNewVersionAction(rcs.getElementSet(), ae, oldVersionString);
 
-		initializeVersionElements(v, oldV, ae);
-		populateNewVersionFromOldVersion(v, oldVersionString, schema, policy);
+		initializeVersionElements(v, oldV, ae, now);
+		populateNewVersionFromOldVersion(v, oldVersionString, rcs, policy);
 
-		// Parse pin to make sure we can do bump actions properly
-		Optional<VersionHelper> ovh = VersionUtils.parseVersion(pin, schema, true);
+		// Pin is parsed in context to make sure we can do bump actions properly
+		Optional<VersionHelper> ovh = bc.pinHelper;
 		
 		// this would be set of unmodifiable elements since they are set by pin
 		Set<VersionElement> elsProtectedByPin = new HashSet<>(); 
@@ -1153,7 +1689,7 @@ public class Version implements Comparable<Version> {
 				v.modifier = Constants.BASE_MODIFIER;
 			} else {
 				// pin matches schema and we need to resolve dates as current if present
-				resolveDatesAsCurrentForNewVersion(v, schemaVeList.get(i), ae, oldV);
+				resolveDatesAsCurrentForNewVersion(v, schemaVeList.get(i), ae, oldV, now);
 			}
 		}
 		
@@ -1165,7 +1701,7 @@ public class Version implements Comparable<Version> {
 			v.modifier = ovh.get().modifier;
 		}
 
-		handleCalverOnSemverUpdates(v, elsProtectedByPin, ae, oldV, schemaVeList, namespace);
+		handleCalverOnSemverUpdates(v, elsProtectedByPin, ae, oldV, schemaVeList, namespace, now);
 
 		if (policy == ModifierPolicy.CLEAR) {
 			v.modifier = null;
@@ -1215,89 +1751,135 @@ public class Version implements Comparable<Version> {
 	}
 	
 	/**
-	 * This methods compares any 2 integer values between version objects
-	 * Used to generalize comparisons for compareTo method
-	 * @param i1 Integer
-	 * @param i2 Integer
-	 * @return 1 if i1 is larger or i2 is null, -1 if i2 is larger or i1 is null, or 0 if both are null or equal
+	 * Precomputed comparison data of a version - precedence key and numeric build id, if any
 	 */
-	private int compareVersionIntegers (Integer i1, Integer i2) {
-		if (null != i1 && null == i2) {
-			return 1;
-		} else if (null == i1 && null != i2) {
-			return -1;
-		} else if (null != i1 && i1 > i2) {
-			return 1;
-		} else if (null != i1 && i2 > i1) {
-			return -1;
-		} else {
-			return 0;
+	private static record SortKey (byte[] precedence, Integer numericBuildid) {}
+	
+	/**
+	 * Number of bytes needed to encode a nullable integer element in precedence key
+	 */
+	private static final int KEY_ELEMENT_BYTES = 5;
+	
+	private SortKey resolveSortKey () {
+		SortKey key = this.sortKey;
+		if (null == key) {
+			byte[] precedence = new byte[7 * KEY_ELEMENT_BYTES];
+			int pos = 0;
+			pos = writeKeyElement(precedence, pos, year);
+			pos = writeKeyElement(precedence, pos, month);
+			pos = writeKeyElement(precedence, pos, major);
+			pos = writeKeyElement(precedence, pos, day);
+			pos = writeKeyElement(precedence, pos, minor);
+			pos = writeKeyElement(precedence, pos, patch);
+			pos = writeKeyElement(precedence, pos, nano);
+			Integer numericBuildid = null;
+			if (StringUtils.isNotEmpty(buildid)) {
+				try {
+					numericBuildid = Integer.parseInt(buildid);
+				} catch (NumberFormatException nfe) {}
+			}
+			key = new SortKey(Arrays.copyOf(precedence, pos), numericBuildid);
+			this.sortKey = key;
 		}
+		return key;
+	}
+	
+	/**
+	 * Computes and caches comparison data, so parallel callers can do it on the thread which parsed the version
+	 * instead of during sorting
+	 */
+	void prepareSortKey () {
+		resolveSortKey();
 	}
 	
+	/**
+	 * Writes null as single zero byte, other values as 1 followed by 4 big-endian bytes with sign bit flipped,
+	 * so that unsigned byte order of encoded elements matches integer order, with null being the lowest
+	 */
+	private static int writeKeyElement (byte[] key, int pos, Integer value) {
+		if (null == value) {
+			key[pos++] = 0;
+		} else {
+			int v = value ^ Integer.MIN_VALUE;
+			key[pos++] = 1;
+			key[pos++] = (byte) (v >>> 24);
+			key[pos++] = (byte) (v >>> 16);
+			key[pos++] = (byte) (v >>> 8);
+			key[pos++] = (byte) v;
+		}
+		return pos;
+	}
+	
+	/**
+	 * Returns packed precedence key of this version, which encodes year, month, major, day, minor, patch and nano
+	 * elements in this order, with absent elements lower than any present value. Unsigned lexicographic
+	 * comparison of keys (i.e. via {@link Arrays#compareUnsigned(byte[], byte[])}) orders versions from oldest to latest,
+	 * which is reverse of {@link #compareTo(Version)}. Numeric buildid, used by compareTo only as a tie-breaker
+	 * when both versions have one, is not part of the key.
+	 * @return copy of precedence key bytes
+	 */
+	public byte[] getSortKey () {
+		return resolveSortKey().precedence().clone();
+	}
+	
+	/**
+	 * Resets cached sort key and hash code, must be called by every public mutator
+	 */
+	private void resetCachedKeys () {
+		this.sortKey = null;
+		this.hash = 0;
+	}
 	
 	/** 
+	 * Hash code over version elements, modifier, metadata, schema, buildid, buildenv and snapshot flag,
+	 * computed field-wise and cached until the version is mutated
 	 * @return int
 	 */
 	@Override
 	public int hashCode() {
-		StringBuilder sb = new StringBuilder();
-		if (null != major) {
-			sb.append(major.toString());
-		}
-		if (null != minor) {
-			sb.append(minor.toString());
-		}
-		if (null != patch) {
-			sb.append(patch.toString());
-		}
-		if (null != nano) {
-			sb.append(nano.toString());
-		}
-		if (null != modifier) {
-			sb.append(modifier);
-		}
-		if (null != year) {
-			sb.append(year.toString());
-		}
-		if (null != month) {
-			sb.append(month.toString());
-		}
-		if (null != day) {
-			sb.append(day.toString());
-		}
-		if (null != metadata) {
-			sb.append(metadata);
-		}
-		if (null != schema) {
-			sb.append(schema);
-		}
-		if (null != buildid) {
-			sb.append(buildid);
-		}
-		if (null != buildenv) {
-			sb.append(buildenv);
-		}
-		if (isSnapshot) {
-			sb.append('1');
-		} else {
-			sb.append('0');
-		}
-		return sb.toString().hashCode();
+		int h = hash;
+		if (0 == h) {
+			h = Objects.hashCode(major);
+			h = 31 * h + Objects.hashCode(minor);
+			h = 31 * h + Objects.hashCode(patch);
+			h = 31 * h + Objects.hashCode(nano);
+			h = 31 * h + Objects.hashCode(modifier);
+			h = 31 * h + Objects.hashCode(year);
+			h = 31 * h + Objects.hashCode(month);
+			h = 31 * h + Objects.hashCode(day);
+			h = 31 * h + Objects.hashCode(metadata);
+			h = 31 * h + Objects.hashCode(schema);
+			h = 31 * h + Objects.hashCode(buildid);
+			h = 31 * h + Objects.hashCode(buildenv);
+			h = 31 * h + Boolean.hashCode(isSnapshot);
+			hash = h;
+		}
+		return h;
 	}
 	
 	
 	/** 
+	 * Versions are equal if they have equal fields which are used in {@link #hashCode()}
 	 * @param other Object
 	 * @return boolean
 	 */
 	@Override
 	public boolean equals(Object other) {
-		if (other instanceof Version) {
-			return hashCode() == other.hashCode();
-		} else {
-			return false;
-		}
+		if (this == other) return true;
+		if (!(other instanceof Version otherV)) return false;
+		return isSnapshot == otherV.isSnapshot
+				&& Objects.equals(major, otherV.major)
+				&& Objects.equals(minor, otherV.minor)
+				&& Objects.equals(patch, otherV.patch)
+				&& Objects.equals(nano, otherV.nano)
+				&& Objects.equals(year, otherV.year)
+				&& Objects.equals(month, otherV.month)
+				&& Objects.equals(day, otherV.day)
+				&& Objects.equals(modifier, otherV.modifier)
+				&& Objects.equals(metadata, otherV.metadata)
+				&& Objects.equals(buildid, otherV.buildid)
+				&& Objects.equals(buildenv, otherV.buildenv)
+				&& Objects.equals(schema, otherV.schema);
 	}
 	
 	/**
@@ -1307,29 +1889,11 @@ public class Version implements Comparable<Version> {
 	 */
 	@Override
 	public int compareTo(Version otherV) {
-		int comparison = compareVersionIntegers(year, otherV.year);
-		if (0 == comparison) {
-			comparison = compareVersionIntegers(month, otherV.month);
-		}
-		if (0 == comparison) {
-			comparison = compareVersionIntegers(major, otherV.major);
-		}
-		if (0 == comparison) {
-			comparison = compareVersionIntegers(day, otherV.day);
-		}
-		if (0 == comparison) {
-			comparison = compareVersionIntegers(minor, otherV.minor);
-		}
-		if (0 == comparison) {
-			comparison = compareVersionIntegers(patch, otherV.patch);
-		}
-		if (0 == comparison) {
-			comparison = compareVersionIntegers(nano, otherV.nano);
-		}
-		if (0 == comparison && StringUtils.isNotEmpty(buildid) && StringUtils.isNotEmpty(otherV.buildid)) {
-			try {
-				comparison = compareVersionIntegers(Integer.parseInt(buildid), Integer.parseInt(otherV.buildid));
-			} catch (NumberFormatException nfe) {}
+		SortKey key = resolveSortKey();
+		SortKey otherKey = otherV.resolveSortKey();
+		int comparison = Integer.signum(Arrays.compareUnsigned(key.precedence(), otherKey.precedence()));
+		if (0 == comparison && null != key.numericBuildid() && null != otherKey.numericBuildid()) {
+			comparison = Integer.signum(Integer.compare(key.numericBuildid(), otherKey.numericBuildid()));
 		}
 		return -comparison;
 	}
@@ -1341,7 +1905,7 @@ public class Version implements Comparable<Version> {
 	 */
 	public static class VersionStringComparator implements Comparator<String> {
 
-		private String schema;
+		private CompiledSchema schema;
 		
 		/**
 		 * Can be used to sort a collection in descending order. Latest version will
@@ -1351,21 +1915,28 @@ public class Version implements Comparable<Version> {
 		 * @param schema {@code String} Versions must match this schema to be sorted
 		 */
 		public VersionStringComparator(String schema) {
+			this(VersionSchema.compile(schema));
+		}
+		
+		/**
+		 * Same as {@link #VersionStringComparator(String)}, but uses compiled schema
+		 * 
+		 * @param schema {@code CompiledSchema} Versions must match this schema to be sorted
+		 */
+		public VersionStringComparator(CompiledSchema schema) {
 			this.schema = schema;
 		}
 		
 		@Override
 		public int compare(String v1Str, String v2Str) {
-			boolean v1Matching = VersionUtils.isVersionMatchingSchema(schema, v1Str);
-			boolean v2Matching = VersionUtils.isVersionMatchingSchema(schema, v2Str);
-			if (v1Matching && !v2Matching) {
+			ParseResult v1 = Version.tryParse(v1Str, schema);
+			ParseResult v2 = Version.tryParse(v2Str, schema);
+			if (v1.isMatching() && !v2.isMatching()) {
 				return -1;
-			} else if (!v1Matching && v2Matching) {
+			} else if (!v1.isMatching() && v2.isMatching()) {
 				return 1;
-			} else if (v1Matching) {
-				Version v1 = Version.getVersion(v1Str, schema);
-				Version v2 = Version.getVersion(v2Str, schema);
-				return v1.compareTo(v2);
+			} else if (v1.isMatching()) {
+				return v1.version().compareTo(v2.version());
 			}
 			return 0;
 		}
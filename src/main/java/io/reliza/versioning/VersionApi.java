@@ -5,18 +5,29 @@
 
 package io.reliza.versioning;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.commons.lang3.StringUtils;
 
+import io.reliza.changelog.CommitClassifier;
+import io.reliza.changelog.CommitClassifier.Classification;
 import io.reliza.changelog.CommitParserUtil;
+import io.reliza.changelog.CommitTypes;
 import io.reliza.changelog.ConventionalCommit;
+import io.reliza.versioning.Version.ModifierPolicy;
+import io.reliza.versioning.VersionSorter.LatestResult;
+import io.reliza.versioning.VersionSorter.SortResult;
 
 /**
  * This class contains static methods to use for higher level versioning API
@@ -29,6 +40,7 @@ public class VersionApi {
 	 */
 	public static class VersionApiObject {
 		private String schema;
+		private CompiledSchema compiledSchema;
 		private String modifier;
 		private String metadata;
 		private String version;
@@ -41,6 +53,15 @@ public class VersionApi {
 			this.schema = schema;
 		}
 		
+		/**
+		 * Private constructor to initialize VersionApiObject based on specified compiled schema
+		 * @param cs CompiledSchema
+		 */
+		private VersionApiObject (CompiledSchema cs) {
+			this.schema = cs.getSchema();
+			this.compiledSchema = cs;
+		}
+		
 		/**
 		 * Getter for VAO schema
 		 * @return schema String
@@ -55,6 +76,18 @@ public class VersionApi {
 		 */
 		public void setSchema(String schema) {
 			this.schema = schema;
+			this.compiledSchema = null;
+		}
+		
+		/**
+		 * Getter for VAO compiled schema, compiles schema on first access if VAO was created from String
+		 * @return compiled schema
+		 */
+		public CompiledSchema getCompiledSchema() {
+			if (null == compiledSchema) {
+				compiledSchema = VersionSchema.compile(schema);
+			}
+			return compiledSchema;
 		}
 		
 		/**
@@ -181,6 +214,37 @@ public class VersionApi {
 		}
 	}
 	
+	/**
+	 * Single bump request for {@link VersionApi#bumpAll(List)}, with the same meaning of fields as parameters of
+	 * {@link Version#getVersionFromPinAndOldVersion(String, String, String, ActionEnum, String, ModifierPolicy)}.
+	 * If policy is null, it is resolved from namespace the same way as when namespace-only overload is used.
+	 */
+	public static record BumpRequest (String schema, String pin, String oldVersion, ActionEnum action,
+			String namespace, ModifierPolicy policy) {
+		/**
+		 * Creates bump request without namespace and with default modifier policy
+		 * @param schema String, required
+		 * @param pin String, required
+		 * @param oldVersion String, optional
+		 * @param action ActionEnum
+		 */
+		public BumpRequest (String schema, String pin, String oldVersion, ActionEnum action) {
+			this(schema, pin, oldVersion, action, null, null);
+		}
+	}
+	
+	/**
+	 * Outcome of a single {@link BumpRequest}, holds either new version or exception which single bump call would throw
+	 */
+	public static record BumpResult (BumpRequest request, Version version, RuntimeException error) {
+		/**
+		 * @return true if new version was computed
+		 */
+		public boolean isSuccess () {
+			return null == error;
+		}
+	}
+	
 	/**
 	 * Factory method to create VersionApiObject based on schema
 	 * @param schema String
@@ -190,18 +254,37 @@ public class VersionApi {
 		return new VersionApiObject(schema);
 	}
 	
+	/**
+	 * Factory method to create VersionApiObject based on compiled schema
+	 * @param cs CompiledSchema
+	 * @return VersionApiObject class to be consumed by apis
+	 */
+	public static VersionApiObject createVao (CompiledSchema cs) {
+		return new VersionApiObject(cs);
+	}
+	
 	/**
 	 * Factory method to initialize version based on VersionApiObject
 	 * @param vao VersionApiObject
 	 * @return Version object
 	 */
 	public static Version initializeVersion (VersionApiObject vao) {
+		return initializeVersion(vao, null);
+	}
+	
+	/**
+	 * Factory method to initialize version based on VersionApiObject, with CalVer date of baseline version taken from supplied clock
+	 * @param vao VersionApiObject
+	 * @param clock Clock, system clock if null
+	 * @return Version object
+	 */
+	public static Version initializeVersion (VersionApiObject vao, Clock clock) {
 		Version v = null;
 		if (StringUtils.isEmpty(vao.getVersion())) {
-			v = VersionUtils.initializeVersionWithModMeta(vao.getSchema(),
-										vao.getModifier(), vao.getMetadata());
+			v = VersionUtils.initializeVersionWithModMeta(vao.getCompiledSchema(),
+										vao.getModifier(), vao.getMetadata(), clock);
 		} else {
-			v = Version.getVersion(vao.getVersion(), vao.getSchema());
+			v = Version.getVersion(vao.getVersion(), vao.getCompiledSchema());
 			if (StringUtils.isNotEmpty(vao.getModifier())) {
 				// if empty we might want to use the one from current version
 				v.setModifier(vao.getModifier());
@@ -228,6 +311,17 @@ public class VersionApi {
 	 * @param ae ActionEnum
 	 */
 	public static void applyActionOnVersion (Version v, ActionEnum ae) {
+		applyActionOnVersion(v, ae, null);
+	}
+	
+	/**
+	 * This method applies an Action on a given Version object and mutates that Version object,
+	 * CalVer date is taken from supplied clock if action changes it
+	 * @param v Version
+	 * @param ae ActionEnum
+	 * @param clock Clock, system clock if null
+	 */
+	public static void applyActionOnVersion (Version v, ActionEnum ae, Clock clock) {
 		if (ae == ActionEnum.BUMP_MAJOR && null == v.getMajor()) {
 			ae = ActionEnum.BUMP_MINOR;
 		}
@@ -235,7 +329,7 @@ public class VersionApi {
 			ae = ActionEnum.BUMP;
 		}
 		if (ActionEnum.BUMP == ae) {
-			v.simpleBump();
+			v.simpleBump(clock);
 		} else if (ActionEnum.BUMP_PATCH == ae) {
 			v.bumpPatch(null);
 		} else if (ActionEnum.BUMP_MINOR == ae) {
@@ -243,7 +337,7 @@ public class VersionApi {
 		} else if (ActionEnum.BUMP_MAJOR == ae) {
 			v.bumpMajor(null);
 		} else if (ActionEnum.BUMP_DATE == ae) {
-			v.setCurrentDate();
+			v.setCurrentDate(clock);
 		}
 	}
 	
@@ -267,14 +361,181 @@ public class VersionApi {
 	 * @param action String name of an ActionEnum
 	 */
 	public static void applyActionOnVersion (Version v, String action) {
+		applyActionOnVersion(v, action, null);
+	}
+	
+	/**
+	 * This method applies an Action defined by its String name
+	 * on a given Version object and mutates that Version object,
+	 * CalVer date is taken from supplied clock if action changes it
+	 * @param v Version
+	 * @param action String name of an ActionEnum
+	 * @param clock Clock, system clock if null
+	 */
+	public static void applyActionOnVersion (Version v, String action, Clock clock) {
 		ActionEnum ae = ActionEnum.getActionEnum(action);
 		if (null == ae) {
 			System.out.println("WARN: action is null, version will not be mutated");
 		} else {
-			applyActionOnVersion(v, ae);
+			applyActionOnVersion(v, ae, clock);
+		}
+	}
+	
+	/**
+	 * Computes next versions for many bump requests in one call. Requests are grouped by schema and pin,
+	 * so schema compilation, pin validation and pin parsing happen once per group, and current date
+	 * is resolved once for the whole batch. Results are returned in the order of requests.
+	 * @param requests List of BumpRequest
+	 * @return List of BumpResult in input order
+	 */
+	public static List<BumpResult> bumpAll (List<BumpRequest> requests) {
+		return bumpAll(requests, null, null);
+	}
+	
+	/**
+	 * Same as {@link #bumpAll(List)}, but computes versions in parallel on supplied pool
+	 * @param requests List of BumpRequest
+	 * @param pool ForkJoinPool to run bumps on, if null bumps run sequentially on calling thread
+	 * @return List of BumpResult in input order
+	 */
+	public static List<BumpResult> bumpAll (List<BumpRequest> requests, ForkJoinPool pool) {
+		return bumpAll(requests, pool, null);
+	}
+	
+	/**
+	 * Same as {@link #bumpAll(List, ForkJoinPool)}, with current date for the whole batch read once from supplied clock
+	 * @param requests List of BumpRequest
+	 * @param pool ForkJoinPool to run bumps on, if null bumps run sequentially on calling thread
+	 * @param clock Clock, system clock if null
+	 * @return List of BumpResult in input order
+	 */
+	public static List<BumpResult> bumpAll (List<BumpRequest> requests, ForkJoinPool pool, Clock clock) {
+		BumpRequest[] reqs = requests.toArray(new BumpRequest[0]);
+		BumpGroup[] groups = new BumpGroup[reqs.length];
+		Map<BumpGroupKey, BumpGroup> groupMap = new HashMap<>();
+		for (int i = 0; i < reqs.length; i++) {
+			groups[i] = groupMap.computeIfAbsent(new BumpGroupKey(reqs[i].schema(), reqs[i].pin()), BumpGroup::resolve);
+		}
+		ZonedDateTime now = Version.resolveCurrentDate(clock);
+		BumpResult[] results = new BumpResult[reqs.length];
+		BumpTask task = new BumpTask(reqs, groups, results, now, null != pool, 0, reqs.length);
+		if (null == pool) {
+			task.compute();
+		} else {
+			pool.invoke(task);
+		}
+		return Arrays.asList(results);
+	}
+	
+	private static record BumpGroupKey (String schema, String pin) {}
+	
+	/**
+	 * Resolved schema and pin shared by requests of a group, or exception if they could not be resolved
+	 */
+	private static record BumpGroup (Version.BumpContext context, RuntimeException error) {
+		private static BumpGroup resolve (BumpGroupKey key) {
+			try {
+				return new BumpGroup(new Version.BumpContext(VersionSchema.compile(key.schema()), key.pin()), null);
+			} catch (RuntimeException re) {
+				return new BumpGroup(null, re);
+			}
 		}
 	}
 	
+	/**
+	 * Computes bump results for a range of requests, splitting it in halves until it is small enough.
+	 * Sequential tasks never split, even when called from a ForkJoinPool worker thread.
+	 */
+	@SuppressWarnings("serial")
+	private static final class BumpTask extends RecursiveAction {
+		private static final int THRESHOLD = 64;
+		private final BumpRequest[] requests;
+		private final BumpGroup[] groups;
+		private final BumpResult[] results;
+		private final ZonedDateTime now;
+		private final boolean parallel;
+		private final int from;
+		private final int to;
+		
+		private BumpTask (BumpRequest[] requests, BumpGroup[] groups, BumpResult[] results, ZonedDateTime now,
+				boolean parallel, int from, int to) {
+			this.requests = requests;
+			this.groups = groups;
+			this.results = results;
+			this.now = now;
+			this.parallel = parallel;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute () {
+			if (!parallel || to - from <= THRESHOLD) {
+				for (int i = from; i < to; i++) {
+					results[i] = bump(requests[i], groups[i]);
+				}
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new BumpTask(requests, groups, results, now, true, from, mid),
+						new BumpTask(requests, groups, results, now, true, mid, to));
+			}
+		}
+		
+		private BumpResult bump (BumpRequest br, BumpGroup group) {
+			if (null != group.error()) return new BumpResult(br, null, group.error());
+			ModifierPolicy policy = br.policy();
+			if (null == policy) {
+				policy = StringUtils.isNotEmpty(br.namespace()) ? ModifierPolicy.USE_NAMESPACE : ModifierPolicy.INHERIT;
+			}
+			try {
+				return new BumpResult(br, Version.getVersionFromPinAndOldVersion(group.context(), br.oldVersion(),
+						br.action(), br.namespace(), policy, now), null);
+			} catch (RuntimeException re) {
+				return new BumpResult(br, null, re);
+			}
+		}
+	}
+	
+	/**
+	 * Finds latest version among version strings, parsing them and reducing to maximum in parallel
+	 * @param versions Collection of version Strings
+	 * @param schema String
+	 * @return LatestResult with latest matching version, empty if none matches, and versions not matching the schema
+	 */
+	public static LatestResult latest (Collection<String> versions, String schema) {
+		return VersionSorter.latest(versions, VersionSchema.compile(schema));
+	}
+	
+	/**
+	 * Finds latest version among version strings, parsing them and reducing to maximum in parallel
+	 * @param versions Collection of version Strings
+	 * @param cs CompiledSchema
+	 * @return LatestResult with latest matching version, empty if none matches, and versions not matching the schema
+	 */
+	public static LatestResult latest (Collection<String> versions, CompiledSchema cs) {
+		return VersionSorter.latest(versions, cs);
+	}
+	
+	/**
+	 * Sorts version strings from latest to oldest, parsing them and sorting in parallel
+	 * @param versions Collection of version Strings
+	 * @param schema String
+	 * @return SortResult with sorted matching versions and versions not matching the schema
+	 */
+	public static SortResult sortParallel (Collection<String> versions, String schema) {
+		return VersionSorter.sortParallel(versions, VersionSchema.compile(schema));
+	}
+	
+	/**
+	 * Sorts version strings from latest to oldest, parsing them and sorting in parallel
+	 * @param versions Collection of version Strings
+	 * @param cs CompiledSchema
+	 * @return SortResult with sorted matching versions and versions not matching the schema
+	 */
+	public static SortResult sortParallel (Collection<String> versions, CompiledSchema cs) {
+		return VersionSorter.sortParallel(versions, cs);
+	}
+	
 	/**
 	 * This method takes a ConventionalCommit object and returns the corresponding
 	 * action to be applied to the version.
@@ -284,19 +545,35 @@ public class VersionApi {
 	public static ActionEnum getActionFromConventionalCommit(ConventionalCommit commit) {
 		ActionEnum returnAction = null;
 		if (commit != null) {
-			if (commit.isBreakingChange()) {
-				returnAction = ActionEnum.BUMP_MAJOR;
-			} else if (null != commit.getType()){
-				switch (commit.getType()) {
-					case FEAT:
-					case REFACTOR:
-						returnAction = ActionEnum.BUMP_MINOR;
-						break;
-					case BUG_FIX:
-					default:
-						returnAction = ActionEnum.BUMP_PATCH;
-						break;
-				}
+			returnAction = getActionFromCommitType(commit.getTypeDefinition(), commit.isBreakingChange());
+		}
+		return returnAction;
+	}
+	
+	/**
+	 * Maps commit type and breaking change flag to action, shared by parsed and classified commits
+	 * @param type CommitTypes.Definition, null if commit has no type
+	 * @param breakingChange boolean
+	 * @return ActionEnum value, null if no action is required.
+	 */
+	static ActionEnum getActionFromCommitType(CommitTypes.Definition type, boolean breakingChange) {
+		ActionEnum returnAction = null;
+		if (breakingChange) {
+			returnAction = ActionEnum.BUMP_MAJOR;
+		} else if (null != type) {
+			switch (type.bump()) {
+				case MAJOR:
+					returnAction = ActionEnum.BUMP_MAJOR;
+					break;
+				case MINOR:
+					returnAction = ActionEnum.BUMP_MINOR;
+					break;
+				case PATCH:
+					returnAction = ActionEnum.BUMP_PATCH;
+					break;
+				case NONE:
+				default:
+					break;
 			}
 		}
 		return returnAction;
@@ -307,12 +584,18 @@ public class VersionApi {
 	 * action to be applied to the version. The commit must be formatted according to the
 	 * conentional commit specification or else there will be an error.
 	 * @param rawCommit String containing the raw commit message.
-	 * @return ActionEnum representing the version action to take based on commit message.
+	 * @return ActionEnum representing the version action to take based on commit message,
+	 * null if commit is of a custom type which does not bump version.
 	 */
 	public static ActionEnum getActionFromRawCommit(String rawCommit) {
-		ConventionalCommit parsedCommit = CommitParserUtil.parseRawCommit(rawCommit);
-		ActionEnum actionToTake = VersionApi.getActionFromConventionalCommit(parsedCommit);
-		return actionToTake;
+		Classification classification = CommitClassifier.classify(rawCommit);
+		if (null == classification) {
+			// not a conventional commit, full parse throws descriptive exception
+			ConventionalCommit parsedCommit = CommitParserUtil.parseRawCommit(rawCommit);
+			return VersionApi.getActionFromConventionalCommit(parsedCommit);
+		}
+		// valid commit of a type registered with Bump.NONE maps to null action without re-parsing
+		return getActionFromCommitType(classification.type(), classification.breakingChange());
 	}
 
 	/**
@@ -365,7 +648,21 @@ public class VersionApi {
 		Objects.requireNonNull(oldVersion, "Old version must not be null");
 		Objects.requireNonNull(newVersion, "New version must not be null");
 		Objects.requireNonNull(schema, "Schema must not be null");
-		VersionElement largestDifferingSemverElement = VersionUtils.getLargestSemverVersionElementDifference(oldVersion, newVersion, schema);
+		return getBumpActionBetweenVersions(oldVersion, newVersion, VersionSchema.compile(schema));
+	}
+	
+	/**
+	 * Same as {@link #getBumpActionBetweenVersions(String, String, String)}, but uses compiled schema
+	 * @param oldVersion String
+	 * @param newVersion String
+	 * @param cs The compiled schema of both versions. Versions must both match the same schema.
+	 * @return ActionEnum the largest applicable version action between the two versions, or null.
+	 */
+	public static ActionEnum getBumpActionBetweenVersions(String oldVersion, String newVersion, CompiledSchema cs) {
+		Objects.requireNonNull(oldVersion, "Old version must not be null");
+		Objects.requireNonNull(newVersion, "New version must not be null");
+		Objects.requireNonNull(cs, "Schema must not be null");
+		VersionElement largestDifferingSemverElement = VersionUtils.getLargestSemverVersionElementDifference(oldVersion, newVersion, cs);
 		ActionEnum returnAction = null;
 		if (largestDifferingSemverElement != null) {
 			switch (largestDifferingSemverElement) {
@@ -402,7 +699,7 @@ public class VersionApi {
 	public static void setVersionDateFromString (Version v, String dateStr) {
 		if (StringUtils.isNotEmpty(dateStr)) {
 			LocalDate ld = LocalDate.parse(dateStr);
-			ZonedDateTime zdate = ZonedDateTime.of(ld, LocalTime.parse("05:00"), (ZoneId.of("UTC")));
+			ZonedDateTime zdate = ZonedDateTime.of(ld, LocalTime.parse("05:00"), Constants.UTC_ZONE_ID);
 			v.setDate(zdate);
 		} else {
 			System.out.println("WARN: date string is empty, version will not be mutated");
@@ -421,6 +718,18 @@ public class VersionApi {
 		return v.constructVersionString();
 	}
 	
+	/**
+	 * This method returns base version based on supplied compiled schema, modifier and metadata
+	 * @param cs CompiledSchema
+	 * @param modifier String
+	 * @param metadata String
+	 * @return version String
+	 */
+	public static String getBaseVerWithModMeta(CompiledSchema cs, String modifier, String metadata) {
+		Version v = VersionUtils.initializeVersionWithModMeta(cs, modifier, metadata);
+		return v.constructVersionString();
+	}
+	
 	/**
 	 * This method returns a CalVer version based on one of preset types
 	 * @param vt preset VersionType enum
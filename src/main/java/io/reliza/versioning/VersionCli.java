@@ -5,6 +5,22 @@
 
 package io.reliza.versioning;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -15,6 +31,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import io.reliza.changelog.CommitParserUtil;
 import io.reliza.changelog.ConventionalCommit;
+import io.reliza.versioning.Version.ModifierPolicy;
 import io.reliza.versioning.VersionApi.ActionEnum;
 import io.reliza.versioning.VersionApi.VersionApiObject;
 
@@ -24,6 +41,37 @@ import io.reliza.versioning.VersionApi.VersionApiObject;
  */
 public class VersionCli {
 
+	/**
+	 * Default port of --serve mode
+	 */
+	static final int DEFAULT_SERVE_PORT = 8585;
+
+	/**
+	 * Single CLI request, fields hold raw values of command line options or batch request fields
+	 */
+	static record CliRequest (String schema, String version, String action, String modifier, String metadata,
+			String semver, String cienv, String cibuild, String branch, String commit, String snapshot, String date) {
+		
+		private static CliRequest fromCommandLine (CommandLine cmd) {
+			return new CliRequest(cmd.getOptionValue("s"), cmd.getOptionValue("v"), cmd.getOptionValue("a"),
+					cmd.getOptionValue("i"), cmd.getOptionValue("m"), cmd.getOptionValue("r"), cmd.getOptionValue("e"),
+					cmd.getOptionValue("b"), cmd.getOptionValue("n"), cmd.getOptionValue("c"), cmd.getOptionValue("t"),
+					cmd.getOptionValue("d"));
+		}
+		
+		/**
+		 * @param fields Map of batch request fields, named after long options of the CLI
+		 * @param defaultSchema String schema to use if request does not have one
+		 * @return CliRequest
+		 */
+		static CliRequest fromFields (Map<String, String> fields, String defaultSchema) {
+			return new CliRequest(fields.getOrDefault("schema", defaultSchema), fields.get("version"), fields.get("action"),
+					fields.get("modifier"), fields.get("metadata"), fields.get("semver"), fields.get("cienv"),
+					fields.get("cibuild"), fields.get("branch"), fields.get("commit"), fields.get("snapshot"),
+					fields.get("date"));
+		}
+	}
+
 	/**
 	 * Main method for CLI input processing
 	 * @param args Command Line args
@@ -48,6 +96,13 @@ public class VersionCli {
 			    .argName( "None|True|False" )
 			    .build();
 		
+		Option batch = Option.builder()
+			    .longOpt( "batch" )
+			    .desc( "read requests from stdin as newline-delimited JSON objects with fields named after long options"
+			    		+ " (schema, version, action, modifier, metadata, commit, snapshot, date, ...) and write one"
+			    		+ " JSON result per request to stdout, -s sets schema for requests without one" )
+			    .build();
+		
 		options.addOption("h", "help", false, "display this help page");
 		options.addOption("s", "schema", true, "schema to use");
 		options.addOption("v", "version", true, "current version, will generate baseline if empty");
@@ -65,6 +120,18 @@ public class VersionCli {
 		
 		options.addOption(action);
 		options.addOption(snapshot);
+		options.addOption(batch);
+		options.addOption(Option.builder()
+				.longOpt( "serve" )
+				.desc( "start local HTTP server with bump, validate, compare, sort, action and stats endpoints"
+						+ " instead of processing a single request" )
+				.build());
+		options.addOption(Option.builder()
+				.longOpt( "port" )
+				.desc( "port for --serve mode to listen on, default is " + DEFAULT_SERVE_PORT )
+				.hasArg()
+				.argName( "port" )
+				.build());
 		try {
 			CommandLineParser parser = new DefaultParser();
 			CommandLine cmd = parser.parse( options, args);
@@ -74,6 +141,18 @@ public class VersionCli {
 				HelpFormatter formatter = new HelpFormatter();
 				formatter.setWidth(250);
 				formatter.printHelp( "versioncli", options, true);
+			} else if (cmd.hasOption("batch")) {
+				BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+				Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+				runBatch(in, out, cmd.getOptionValue("s"));
+			} else if (cmd.hasOption("serve")) {
+				int port = Integer.parseInt(cmd.getOptionValue("port", String.valueOf(DEFAULT_SERVE_PORT)));
+				VersionServer server = new VersionServer(port, VersionServer.DEFAULT_MAX_CONCURRENT,
+						VersionServer.DEFAULT_QUEUE_CAPACITY);
+				Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+				server.start();
+				System.out.println("Listening on " + server.getBaseUrl());
+				server.awaitStop();
 			} else {
 				// make sure schema is set
 				String schema = cmd.getOptionValue("s");
@@ -81,90 +160,9 @@ public class VersionCli {
 					System.out.println("Schema is required. Please specify schema using -s argument");
 					System.exit(1);
 				}
-				String modifier = cmd.getOptionValue("i");
-				String metadata = cmd.getOptionValue("m");
-				String version = cmd.getOptionValue("v");
-				String semver = cmd.getOptionValue("r");
-				String cienv = cmd.getOptionValue("e");
-				String cibuild = cmd.getOptionValue("b");
-				String branch = cmd.getOptionValue("n");
-
-				
-				VersionApiObject vao = VersionApi.createVao(schema);
-				vao.setVersion(version);
-				vao.setModifier(modifier);
-				vao.setMetadata(metadata);
-				
-				Version v = VersionApi.initializeVersion(vao);
-				
-				if (StringUtils.isNotEmpty(cienv)) {
-					v.setBuildenv(cienv);
-				}
-				
-				if (StringUtils.isNotEmpty(cibuild)) {
-					v.setBuildenv(cibuild);
-				}
-				
-				if (StringUtils.isNotEmpty(branch)) {
-					v.setBranch(branch);
-				}
-				
-				if (StringUtils.isNotEmpty(semver)) {
-					VersionApi.setSemVerElementsOnVersion(v, semver);
-				}
-				
-				String actionStr = cmd.getOptionValue("a");
-				ActionEnum ae = null;
-				if (StringUtils.isNotEmpty(actionStr)) {
-					try {
-						ae = ActionEnum.getActionEnum(actionStr.toLowerCase());
-					} catch (Exception e) {}
-				} else {
-					ae = ActionEnum.BUMP;
-				}
-				if (null != ae && StringUtils.isNotEmpty(schema) && StringUtils.isNotEmpty(version)) {
-					v = Version.getVersionFromPinAndOldVersion(schema, schema, version, ae);
-				} else if (StringUtils.isNotEmpty(actionStr)) {
-					VersionApi.applyActionOnVersion(v, actionStr);
-				}
-				
-				// reset modifiers and metadata
-				v.setModifier(modifier);
-				v.setMetadata(metadata);
-				
-				String rawCommitStr = cmd.getOptionValue("c");
-				//System.out.println("Bumped based on parsing of commit:\n" + rawCommitStr + "\n");
-				// Only want to bump from commit, if have not bumped from action yet.
-				if (rawCommitStr != null && actionStr == null) {
-					try {
-						ConventionalCommit parsedCommit = CommitParserUtil.parseRawCommit(rawCommitStr);
-						//System.out.println("breaking: " + parsedCommit.isBreakingChange());
-						//System.out.println("type: " + parsedCommit.getType());
-						ActionEnum actionToTake = VersionApi.getActionFromConventionalCommit(parsedCommit);
-						if (actionToTake == null) {
-							System.out.println("No need to change version based on commit message contents.");
-						} else {
-							VersionApi.applyActionOnVersion(v, actionToTake);
-						}
-					} catch (IllegalArgumentException e) {
-						System.out.println(e.getMessage());
-					}
-				}
-				
-				String snapshotStr = cmd.getOptionValue("t");
-				
-				if ("true".equalsIgnoreCase(snapshotStr)) {
-					VersionApi.setMavenSnapshotStatus(v, true);
-				} else if ("false".equalsIgnoreCase(snapshotStr)) {
-					VersionApi.setMavenSnapshotStatus(v, false);
-				}
-
-				String date = cmd.getOptionValue("d");
-				if (StringUtils.isNotEmpty(date)) {
-					VersionApi.setVersionDateFromString(v, date);
-				}
-				
-				System.out.println(v.constructVersionString());
+				String versionString = constructVersion(CliRequest.fromCommandLine(cmd), currentTimeClock(),
+						System.out::println);
+				System.out.println(versionString);
 			}
 		} catch (Exception e) {
 			System.out.println("unrecoverable error: " + e);
@@ -173,5 +171,157 @@ public class VersionCli {
 		System.exit(0);
 
 	}
+	
+	/**
+	 * Returns clock fixed at current time, so every step of a request resolves the same CalVer date
+	 * @return Clock
+	 */
+	static Clock currentTimeClock () {
+		return Clock.fixed(Clock.systemUTC().instant(), Constants.UTC_ZONE_ID);
+	}
+	
+	/**
+	 * Processes newline-delimited JSON requests until end of input. Each non-blank line produces one result line
+	 * in input order, holding line number, id of the request if it has one and either version or error, plus
+	 * any warnings. Id is echoed with its JSON type, so numeric ids stay numbers.
+	 * Errors in a line do not stop processing of following lines. Output is flushed whenever
+	 * no further input is buffered, so results stream to consumers piping requests one by one.
+	 * @param in BufferedReader of requests
+	 * @param out Writer of results
+	 * @param defaultSchema String schema to use for requests without one, may be null
+	 * @return number of requests which resulted in error
+	 * @throws IOException if reading requests or writing results fails
+	 */
+	static int runBatch (BufferedReader in, Writer out, String defaultSchema) throws IOException {
+		int errorCount = 0;
+		int lineNumber = 0;
+		StringBuilder sb = new StringBuilder();
+		String line;
+		while (null != (line = in.readLine())) {
+			++lineNumber;
+			if (StringUtils.isBlank(line)) continue;
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("line", lineNumber);
+			List<String> warnings = new ArrayList<>();
+			try {
+				Set<String> literalFields = new HashSet<>();
+				Map<String, String> fields = NdJson.parseObject(line, literalFields);
+				// id is echoed with its JSON type, so numeric ids of requests match numeric ids of results
+				String id = fields.get("id");
+				result.put("id", (null != id && literalFields.contains("id")) ? new NdJson.Literal(id) : id);
+				CliRequest request = CliRequest.fromFields(fields, defaultSchema);
+				if (StringUtils.isEmpty(request.schema())) {
+					throw new IllegalArgumentException("Schema is required. Please specify schema field or use -s argument");
+				}
+				result.put("version", constructVersion(request, currentTimeClock(), warnings::add));
+			} catch (Exception e) {
+				++errorCount;
+				result.put("error", (null == e.getMessage()) ? e.toString() : e.getMessage());
+			}
+			if (!warnings.isEmpty()) result.put("warnings", warnings);
+			sb.setLength(0);
+			NdJson.writeObject(sb, result).append('\n');
+			out.append(sb);
+			if (!in.ready()) out.flush();
+		}
+		out.flush();
+		return errorCount;
+	}
+	
+	/**
+	 * Constructs version string for a single request
+	 * @param request CliRequest, schema must be set
+	 * @param clock Clock to resolve CalVer dates from
+	 * @param messages Consumer of informational messages, such as warnings and commit parsing errors
+	 * @return version String
+	 */
+	static String constructVersion (CliRequest request, Clock clock, Consumer<String> messages) {
+		String schema = request.schema();
+		String modifier = request.modifier();
+		String metadata = request.metadata();
+		String version = request.version();
+		String semver = request.semver();
+		String cienv = request.cienv();
+		String cibuild = request.cibuild();
+		String branch = request.branch();
+		
+		VersionApiObject vao = VersionApi.createVao(schema);
+		vao.setVersion(version);
+		vao.setModifier(modifier);
+		vao.setMetadata(metadata);
+		
+		Version v = VersionApi.initializeVersion(vao, clock);
+		
+		if (StringUtils.isNotEmpty(cienv)) {
+			v.setBuildenv(cienv);
+		}
+		
+		if (StringUtils.isNotEmpty(cibuild)) {
+			v.setBuildenv(cibuild);
+		}
+		
+		if (StringUtils.isNotEmpty(branch)) {
+			v.setBranch(branch);
+		}
+		
+		if (StringUtils.isNotEmpty(semver)) {
+			VersionApi.setSemVerElementsOnVersion(v, semver);
+		}
+		
+		String actionStr = request.action();
+		ActionEnum ae = null;
+		if (StringUtils.isNotEmpty(actionStr)) {
+			try {
+				ae = ActionEnum.getActionEnum(actionStr.toLowerCase());
+			} catch (Exception e) {}
+		} else {
+			ae = ActionEnum.BUMP;
+		}
+		if (null != ae && StringUtils.isNotEmpty(schema) && StringUtils.isNotEmpty(version)) {
+			v = Version.getVersionFromPinAndOldVersion(vao.getCompiledSchema(), schema, version, ae, null,
+					ModifierPolicy.INHERIT, clock);
+		} else if (StringUtils.isNotEmpty(actionStr)) {
+			if (null == ae) {
+				messages.accept("WARN: action is null, version will not be mutated");
+			} else {
+				VersionApi.applyActionOnVersion(v, ae, clock);
+			}
+		}
+		
+		// reset modifiers and metadata
+		v.setModifier(modifier);
+		v.setMetadata(metadata);
+		
+		String rawCommitStr = request.commit();
+		// Only want to bump from commit, if have not bumped from action yet.
+		if (rawCommitStr != null && actionStr == null) {
+			try {
+				ConventionalCommit parsedCommit = CommitParserUtil.parseRawCommit(rawCommitStr);
+				ActionEnum actionToTake = VersionApi.getActionFromConventionalCommit(parsedCommit);
+				if (actionToTake == null) {
+					messages.accept("No need to change version based on commit message contents.");
+				} else {
+					VersionApi.applyActionOnVersion(v, actionToTake, clock);
+				}
+			} catch (IllegalArgumentException e) {
+				messages.accept(e.getMessage());
+			}
+		}
+		
+		String snapshotStr = request.snapshot();
+		
+		if ("true".equalsIgnoreCase(snapshotStr)) {
+			VersionApi.setMavenSnapshotStatus(v, true);
+		} else if ("false".equalsIgnoreCase(snapshotStr)) {
+			VersionApi.setMavenSnapshotStatus(v, false);
+		}
+
+		String date = request.date();
+		if (StringUtils.isNotEmpty(date)) {
+			VersionApi.setVersionDateFromString(v, date);
+		}
+		
+		return v.constructVersionString();
+	}
 
 }
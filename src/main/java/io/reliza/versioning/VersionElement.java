@@ -94,13 +94,131 @@ public enum VersionElement {
 	}
 	
 	/**
-	 * This method returns regex pattern of this element
+	 * This method returns regex pattern of this element. It is the reference definition of valid element values,
+	 * which {@link #matches(CharSequence, int, int)} implements without regex, and may be used as a fallback
+	 * where a Pattern is required
 	 * @return regex of this element
 	 */
 	public Pattern getRegexPattern () {
 		return this.regex;
 	}
 	
+	/**
+	 * Returns true if the whole supplied string is a valid value of this element
+	 * @param cs CharSequence
+	 * @return true if matching
+	 */
+	public boolean matches (CharSequence cs) {
+		return matches(cs, 0, cs.length());
+	}
+	
+	/**
+	 * Returns true if characters in range [from, to) of supplied sequence form a valid value of this element,
+	 * equivalent to full match of {@link #getRegexPattern()} on that range but without Matcher allocation
+	 * @param cs CharSequence
+	 * @param from int, inclusive
+	 * @param to int, exclusive
+	 * @return true if matching
+	 */
+	public boolean matches (CharSequence cs, int from, int to) {
+		int len = to - from;
+		if (len <= 0) return false;
+		switch (this) {
+			case MAJOR:
+			case MINOR:
+			case PATCH:
+			case NANO:
+				return isDigits(cs, from, to);
+			case SEMVER_MODIFIER:
+			case CALVER_MODIFIER:
+			case METADATA:
+			case BUILDID:
+			case BUILDENV:
+				for (int i = from; i < to; i++) {
+					if (!isAlphanumeric(cs.charAt(i))) return false;
+				}
+				return true;
+			case YYYY:
+				return len == 4 && isFullYear(cs, from);
+			case YYYYOM:
+				return len == 6 && isFullYear(cs, from) && isZeroPaddedMonth(cs, from + 4);
+			case YYOM:
+				return len >= 3 && len <= 5 && isShortYear(cs, from, to - 2) && isZeroPaddedMonth(cs, to - 2);
+			case YY:
+				return len <= 3 && isShortYear(cs, from, to);
+			case OY:
+				return (len == 2 || len == 3) && isDigits(cs, from, to);
+			case MM:
+				return (len == 1 && cs.charAt(from) >= '1' && cs.charAt(from) <= '9')
+						|| (len == 2 && cs.charAt(from) == '1' && cs.charAt(from + 1) >= '0' && cs.charAt(from + 1) <= '2');
+			case OM:
+				return len == 2 && isZeroPaddedMonth(cs, from);
+			case DD:
+				return (len == 1 && cs.charAt(from) >= '1' && cs.charAt(from) <= '9')
+						|| (len == 2 && isZeroPaddedDay(cs, from) && cs.charAt(from) != '0');
+			case OD:
+				return len == 2 && isZeroPaddedDay(cs, from);
+			case BRANCH:
+				for (int i = from; i < to; i++) {
+					char c = cs.charAt(i);
+					if (!isAlphanumeric(c) && c != '-' && c != '.' && c != '/' && c != '_' && c != ':') return false;
+				}
+				return true;
+			default:
+				return regex.matcher(cs).region(from, to).matches();
+		}
+	}
+	
+	private static boolean isDigit (char c) {
+		return c >= '0' && c <= '9';
+	}
+	
+	private static boolean isAlphanumeric (char c) {
+		return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+	
+	private static boolean isDigits (CharSequence cs, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (!isDigit(cs.charAt(i))) return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * [12][0-9]{3} at position from
+	 */
+	private static boolean isFullYear (CharSequence cs, int from) {
+		char c = cs.charAt(from);
+		return (c == '1' || c == '2') && isDigits(cs, from + 1, from + 4);
+	}
+	
+	/**
+	 * ([1-9][0-9]|[1-9])?[0-9] on range [from, to)
+	 */
+	private static boolean isShortYear (CharSequence cs, int from, int to) {
+		int len = to - from;
+		if (len < 1 || len > 3 || !isDigits(cs, from, to)) return false;
+		return len == 1 || cs.charAt(from) != '0';
+	}
+	
+	/**
+	 * 1[0-2]|0[1-9] at position from
+	 */
+	private static boolean isZeroPaddedMonth (CharSequence cs, int from) {
+		char c1 = cs.charAt(from);
+		char c2 = cs.charAt(from + 1);
+		return (c1 == '1' && c2 >= '0' && c2 <= '2') || (c1 == '0' && c2 >= '1' && c2 <= '9');
+	}
+	
+	/**
+	 * 3[01]|[0-2][0-9] at position from
+	 */
+	private static boolean isZeroPaddedDay (CharSequence cs, int from) {
+		char c1 = cs.charAt(from);
+		char c2 = cs.charAt(from + 1);
+		return (c1 == '3' && (c2 == '0' || c2 == '1')) || (c1 >= '0' && c1 <= '2' && isDigit(c2));
+	}
+	
 	public boolean isMayContainSeparators() {
 		return this.mayContainSeparators;
 	}
@@ -0,0 +1,115 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.util.Optional;
+
+import io.reliza.versioning.Version.ParseResult;
+import io.reliza.versioning.VersionSchema.CacheStats;
+
+/**
+ * This class maps pairs of schema and version string to canonical {@link VersionValue} instances,
+ * so repeated version strings are parsed once and share one immutable value.
+ * Pool is a size-bounded concurrent map keyed by the schema string as supplied and the version string,
+ * lookups do not lock and when the pool is full approximately least recently used versions are evicted;
+ * versions which do not match the schema are not pooled. Instances are safe for concurrent use.
+ *
+ */
+public final class VersionInterner {
+
+	/**
+	 * Default maximum number of pooled versions
+	 */
+	public static final int DEFAULT_MAX_SIZE = 4096;
+
+	private final BoundedCache<Key, VersionValue> cache;
+
+	private static record Key (String schema, String version) {}
+
+	/**
+	 * Creates interner with {@value #DEFAULT_MAX_SIZE} maximum pooled versions
+	 */
+	public VersionInterner () {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Creates interner with supplied maximum of pooled versions, 0 or less disables pooling
+	 * @param maxSize int
+	 */
+	public VersionInterner (int maxSize) {
+		this.cache = new BoundedCache<>(maxSize);
+	}
+
+	/**
+	 * Returns canonical value of version string parsed with the schema
+	 * @param version String
+	 * @param schema String
+	 * @return shared VersionValue
+	 * @throws RuntimeException if version is not matching schema
+	 */
+	public VersionValue intern (String version, String schema) {
+		return intern(version, VersionSchema.compile(schema));
+	}
+
+	/**
+	 * Returns canonical value of version string parsed with the compiled schema
+	 * @param version String
+	 * @param cs CompiledSchema
+	 * @return shared VersionValue
+	 * @throws RuntimeException if version is not matching schema
+	 */
+	public VersionValue intern (String version, CompiledSchema cs) {
+		Key key = new Key(cs.getSchema(), version);
+		VersionValue value = cache.get(key);
+		if (null == value) {
+			value = cache.putIfAbsent(key, Version.getVersion(version, cs).toValue());
+		}
+		return value;
+	}
+
+	/**
+	 * Returns canonical value of version string parsed with the schema, empty if version is not matching schema
+	 * @param version String
+	 * @param schema String
+	 * @return Optional of shared VersionValue
+	 */
+	public Optional<VersionValue> tryIntern (String version, String schema) {
+		return tryIntern(version, VersionSchema.compile(schema));
+	}
+
+	/**
+	 * Returns canonical value of version string parsed with the compiled schema, empty if version is not matching schema
+	 * @param version String
+	 * @param cs CompiledSchema
+	 * @return Optional of shared VersionValue
+	 */
+	public Optional<VersionValue> tryIntern (String version, CompiledSchema cs) {
+		Key key = new Key(cs.getSchema(), version);
+		VersionValue value = cache.get(key);
+		if (null == value) {
+			ParseResult pr = Version.tryParse(version, cs);
+			if (!pr.isMatching()) return Optional.empty();
+			value = cache.putIfAbsent(key, pr.version().toValue());
+		}
+		return Optional.of(value);
+	}
+
+	/**
+	 * Returns current statistics of the pool, hit ratio shows share of lookups served by pooled values
+	 * @return CacheStats
+	 */
+	public CacheStats getStats () {
+		return cache.stats();
+	}
+
+	/**
+	 * Removes all pooled versions, statistics are preserved
+	 */
+	public void clear () {
+		cache.clear();
+	}
+}
@@ -0,0 +1,93 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.util.Optional;
+
+/**
+ * This class is the entry point for obtaining {@link CompiledSchema} objects.
+ * Compiled schemas are kept in a process-wide, size-bounded cache keyed by the schema string as supplied,
+ * so String-based APIs of Version, VersionUtils and VersionApi do not re-parse known schemas.
+ *
+ * <p>Cache size is controlled by {@value #CACHE_SIZE_PROPERTY} system property (default {@value #DEFAULT_CACHE_SIZE}),
+ * set it to 0 to disable caching. Lookups do not lock, and when the cache is full approximately least recently
+ * used schemas are evicted.</p>
+ *
+ */
+public final class VersionSchema {
+
+	/**
+	 * System property to configure maximum number of cached compiled schemas, 0 or less disables the cache
+	 */
+	public static final String CACHE_SIZE_PROPERTY = "io.reliza.versioning.schemaCacheSize";
+
+	/**
+	 * Default maximum number of cached compiled schemas
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 256;
+
+	/**
+	 * Snapshot of schema cache statistics
+	 */
+	public static record CacheStats(long hitCount, long missCount, long evictionCount, int size, int maxSize) {
+		/**
+		 * Returns ratio of cache hits to all cache lookups, 0 if there were no lookups
+		 * @return hit ratio
+		 */
+		public double hitRatio() {
+			long total = hitCount + missCount;
+			return (0 == total) ? 0 : (double) hitCount / total;
+		}
+	}
+
+	private static final BoundedCache<String, CompiledSchema> CACHE =
+			new BoundedCache<>(Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE));
+
+	/**
+	 * Private constructor for uninitializable class
+	 */
+	private VersionSchema () {}
+
+	/**
+	 * This method compiles supplied schema string or alias (i.e. "semver") into immutable CompiledSchema,
+	 * which can then be passed to schema-accepting overloads of Version, VersionUtils and VersionApi
+	 * to avoid re-parsing schema on every call. Results are cached unless cache is disabled.
+	 * @param schema String
+	 * @return CompiledSchema
+	 * @throws RuntimeException if schema contains unknown elements
+	 */
+	public static CompiledSchema compile (String schema) {
+		if (null == schema || !CACHE.isEnabled()) return compileUncached(schema);
+		CompiledSchema cs = CACHE.get(schema);
+		if (null == cs) {
+			cs = CACHE.putIfAbsent(schema, compileUncached(schema));
+		}
+		return cs;
+	}
+
+	/**
+	 * Returns current statistics of the schema cache
+	 * @return CacheStats
+	 */
+	public static CacheStats getCacheStats () {
+		return CACHE.stats();
+	}
+
+	/**
+	 * Removes all compiled schemas from the cache, statistics are preserved
+	 */
+	public static void clearCache () {
+		CACHE.clear();
+	}
+
+	private static CompiledSchema compileUncached (String schema) {
+		Optional<VersionType> ovt = VersionType.resolveByAliasName(schema);
+		if (ovt.isPresent()) {
+			return new CompiledSchema(schema, compile(ovt.get().getSchema()));
+		}
+		return new CompiledSchema(schema, null);
+	}
+}
@@ -0,0 +1,311 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.reliza.versioning.Version.ParseResult;
+import io.reliza.versioning.VersionApi.ActionEnum;
+import io.reliza.versioning.VersionCli.CliRequest;
+
+/**
+ * Local HTTP server behind CLI --serve mode, so that build agents can keep one warm process and call it
+ * from shell scripts instead of starting a JVM per call. Server listens on loopback address only.
+ *
+ * <p>Request fields are taken from query parameters and from request body, which is either a flat JSON object
+ * or, if it does not start with '{', plain text value of the endpoint's text field. Responses are flat JSON objects.
+ * Endpoints:</p>
+ * <ul>
+ *   <li>/bump — same fields and processing as CLI batch request, returns version and warnings</li>
+ *   <li>/validate — schema, version and optional pin, returns valid flag and mismatch reason</li>
+ *   <li>/compare — schema, version1 and version2, returns comparison: 1 if version1 is later, -1 if earlier, 0 if same</li>
+ *   <li>/sort — schema and versions, one per line (text field), returns versions sorted from latest</li>
+ *   <li>/action — commit (text field), returns bump action for conventional commit or none</li>
+ *   <li>/stats — per-endpoint request, error and latency counters</li>
+ * </ul>
+ *
+ * <p>Every request runs on its own virtual thread. At most maxConcurrent requests are processed at a time
+ * and at most queueCapacity more wait for their turn, requests beyond that are rejected with 503 status.</p>
+ *
+ */
+final class VersionServer {
+
+	/**
+	 * Default maximum number of requests processed at the same time
+	 */
+	static final int DEFAULT_MAX_CONCURRENT = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Default maximum number of requests waiting to be processed
+	 */
+	static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+	private static final int MAX_BODY_BYTES = 1 << 20;
+
+	private static final List<String> ENDPOINTS = List.of("bump", "validate", "compare", "sort", "action");
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Semaphore admitted;
+	private final Semaphore running;
+	private final int maxConcurrent;
+	private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+	private final CountDownLatch stopped = new CountDownLatch(1);
+
+	/**
+	 * Creates server bound to loopback address, call {@link #start()} to accept requests
+	 * @param port int, 0 to pick any free port
+	 * @param maxConcurrent int maximum number of requests processed at the same time
+	 * @param queueCapacity int maximum number of requests waiting to be processed
+	 * @throws IOException if server cannot be bound
+	 */
+	VersionServer (int port, int maxConcurrent, int queueCapacity) throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		this.executor = Executors.newVirtualThreadPerTaskExecutor();
+		this.maxConcurrent = Math.max(maxConcurrent, 1);
+		this.running = new Semaphore(this.maxConcurrent);
+		this.admitted = new Semaphore(this.maxConcurrent + Math.max(queueCapacity, 0));
+		for (String endpoint : ENDPOINTS) {
+			stats.put(endpoint, new EndpointStats());
+		}
+		server.setExecutor(executor);
+		server.createContext("/", this::handle);
+	}
+
+	/**
+	 * Starts accepting requests
+	 */
+	void start () {
+		server.start();
+	}
+
+	/**
+	 * @return port server is listening on
+	 */
+	int getPort () {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * @return base URL of the server, i.e. http://127.0.0.1:8585
+	 */
+	String getBaseUrl () {
+		InetSocketAddress address = server.getAddress();
+		String host = address.getAddress().getHostAddress();
+		if (host.contains(":")) host = "[" + host + "]";
+		return "http://" + host + ":" + address.getPort();
+	}
+
+	/**
+	 * Stops accepting requests, waits up to a second for requests in progress and releases the executor
+	 */
+	void stop () {
+		server.stop(1);
+		executor.shutdown();
+		stopped.countDown();
+	}
+
+	/**
+	 * Blocks until server is stopped
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	void awaitStop () throws InterruptedException {
+		stopped.await();
+	}
+
+	private void handle (HttpExchange exchange) throws IOException {
+		String path = exchange.getRequestURI().getPath();
+		String endpoint = path.startsWith("/") ? path.substring(1) : path;
+		if ("stats".equals(endpoint)) {
+			respond(exchange, 200, statsSnapshot());
+			return;
+		}
+		EndpointStats endpointStats = stats.get(endpoint);
+		if (null == endpointStats) {
+			respond(exchange, 404, Map.of("error", "Unknown endpoint /" + endpoint));
+			return;
+		}
+		if (!admitted.tryAcquire()) {
+			respond(exchange, 503, Map.of("error", "Server is busy, try again later"));
+			return;
+		}
+		try {
+			// latency is measured from admission, so it includes time spent in queue
+			long start = System.nanoTime();
+			int status = 200;
+			Map<String, Object> result;
+			try {
+				Map<String, String> fields = readFields(exchange, endpoint);
+				running.acquireUninterruptibly();
+				try {
+					result = dispatch(endpoint, fields);
+				} finally {
+					running.release();
+				}
+			} catch (RuntimeException re) {
+				status = 400;
+				result = Map.of("error", (null == re.getMessage()) ? re.toString() : re.getMessage());
+			}
+			endpointStats.record(System.nanoTime() - start, 200 != status);
+			respond(exchange, status, result);
+		} finally {
+			admitted.release();
+		}
+	}
+
+	private Map<String, Object> dispatch (String endpoint, Map<String, String> fields) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		switch (endpoint) {
+		case "bump":
+			CliRequest request = CliRequest.fromFields(fields, null);
+			requireField(request.schema(), "schema");
+			List<String> warnings = new ArrayList<>();
+			result.put("version", VersionCli.constructVersion(request, VersionCli.currentTimeClock(), warnings::add));
+			if (!warnings.isEmpty()) result.put("warnings", warnings);
+			break;
+		case "validate":
+			CompiledSchema cs = VersionSchema.compile(requireField(fields.get("schema"), "schema"));
+			ParseResult pr = Version.tryParse(fields.get("version"), cs);
+			boolean valid = pr.isMatching();
+			if (valid && StringUtils.isNotEmpty(fields.get("pin"))) {
+				valid = VersionUtils.isVersionMatchingSchemaAndPin(cs, fields.get("pin"), fields.get("version"));
+			}
+			result.put("valid", valid);
+			if (null != pr.mismatchReason()) result.put("reason", pr.mismatchReason().name());
+			break;
+		case "compare":
+			cs = VersionSchema.compile(requireField(fields.get("schema"), "schema"));
+			Version v1 = Version.getVersion(requireField(fields.get("version1"), "version1"), cs);
+			Version v2 = Version.getVersion(requireField(fields.get("version2"), "version2"), cs);
+			result.put("comparison", -v1.compareTo(v2));
+			break;
+		case "sort":
+			cs = VersionSchema.compile(requireField(fields.get("schema"), "schema"));
+			List<String> versions = Arrays.stream(Objects.toString(fields.get("versions"), "").split("\\R"))
+					.map(String::trim).filter(StringUtils::isNotEmpty).toList();
+			result.put("versions", VersionSorter.sort(versions, cs));
+			break;
+		case "action":
+			ActionEnum ae = VersionApi.getActionFromRawCommit(requireField(fields.get("commit"), "commit"));
+			result.put("action", (null == ae) ? "none" : ae.getActionName());
+			break;
+		default:
+			throw new IllegalStateException("Unhandled endpoint " + endpoint);
+		}
+		return result;
+	}
+
+	private static String requireField (String value, String name) {
+		if (StringUtils.isEmpty(value)) {
+			throw new IllegalArgumentException("Field " + name + " is required");
+		}
+		return value;
+	}
+
+	/**
+	 * Merges query parameters with request body fields, body takes precedence
+	 */
+	private static Map<String, String> readFields (HttpExchange exchange, String endpoint) throws IOException {
+		Map<String, String> fields = new LinkedHashMap<>();
+		String query = exchange.getRequestURI().getRawQuery();
+		if (StringUtils.isNotEmpty(query)) {
+			for (String param : query.split("&")) {
+				int eq = param.indexOf('=');
+				String key = (eq < 0) ? param : param.substring(0, eq);
+				String value = (eq < 0) ? "" : param.substring(eq + 1);
+				fields.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+			}
+		}
+		String body;
+		try (InputStream in = exchange.getRequestBody()) {
+			byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+			if (bytes.length > MAX_BODY_BYTES) {
+				throw new IllegalArgumentException("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+			}
+			body = new String(bytes, StandardCharsets.UTF_8);
+		}
+		if (body.stripLeading().startsWith("{")) {
+			fields.putAll(NdJson.parseObject(body.strip()));
+		} else if (StringUtils.isNotBlank(body)) {
+			if ("sort".equals(endpoint)) {
+				fields.put("versions", body);
+			} else if ("action".equals(endpoint)) {
+				fields.put("commit", body);
+			} else {
+				throw new IllegalArgumentException("Request body of /" + endpoint + " must be JSON object");
+			}
+		}
+		return fields;
+	}
+
+	private static void respond (HttpExchange exchange, int status, Map<String, ?> result) throws IOException {
+		byte[] bytes = NdJson.writeObject(new StringBuilder(), result).append('\n').toString()
+				.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private Map<String, Object> statsSnapshot () {
+		Map<String, Object> snapshot = new LinkedHashMap<>();
+		snapshot.put("running", maxConcurrent - running.availablePermits());
+		snapshot.put("queued", running.getQueueLength());
+		for (Map.Entry<String, EndpointStats> e : stats.entrySet()) {
+			e.getValue().writeTo(e.getKey(), snapshot);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Request, error and latency counters of an endpoint
+	 */
+	private static final class EndpointStats {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		private void record (long nanos, boolean error) {
+			count.increment();
+			if (error) errors.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+		}
+
+		private void writeTo (String endpoint, Map<String, Object> snapshot) {
+			long n = count.sum();
+			snapshot.put(endpoint + ".count", n);
+			snapshot.put(endpoint + ".errors", errors.sum());
+			snapshot.put(endpoint + ".meanMicros", (0 == n) ? 0 : totalNanos.sum() / n / 1000);
+			snapshot.put(endpoint + ".maxMicros", maxNanos.get() / 1000);
+		}
+	}
+}
@@ -0,0 +1,175 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.reliza.versioning.Version.ParseResult;
+import io.reliza.versioning.Version.VersionStringComparator;
+
+/**
+ * This class sorts collections of version strings based on common schema.
+ * Ordering is the same as of {@link VersionStringComparator} - latest version first, versions that do not match
+ * the schema at the end in their original order - but every string is parsed only once instead of on each comparison.
+ * Parallel variants parse versions on all cores of the common fork-join pool and are meant for large collections,
+ * such as full build history of a product.
+ *
+ */
+public final class VersionSorter {
+	
+	/**
+	 * Outcome of parallel sort - matching versions from latest to oldest and versions not matching the schema
+	 * in their original order
+	 */
+	public static record SortResult (List<String> sorted, List<String> nonMatching) {}
+	
+	/**
+	 * Outcome of latest version lookup - latest matching version, empty if none matches,
+	 * and versions not matching the schema in their original order
+	 */
+	public static record LatestResult (Optional<String> latest, List<String> nonMatching) {}
+
+	/**
+	 * Private constructor for uninitializable class
+	 */
+	private VersionSorter () {}
+
+	/**
+	 * Sorts version strings in descending order, versions not matching the schema are placed at the end
+	 * @param versions Collection of version Strings
+	 * @param schema String
+	 * @return new sorted list of version Strings
+	 */
+	public static List<String> sort (Collection<String> versions, String schema) {
+		return sort(versions, VersionSchema.compile(schema));
+	}
+
+	/**
+	 * Sorts version strings in descending order, versions not matching the schema are placed at the end
+	 * @param versions Collection of version Strings
+	 * @param cs CompiledSchema
+	 * @return new sorted list of version Strings
+	 */
+	public static List<String> sort (Collection<String> versions, CompiledSchema cs) {
+		SortEntry[] matching = new SortEntry[versions.size()];
+		int matchingCount = 0;
+		List<String> nonMatching = new ArrayList<>();
+		for (String versionStr : versions) {
+			ParseResult pr = Version.tryParse(versionStr, cs);
+			if (pr.isMatching()) {
+				matching[matchingCount++] = new SortEntry(pr.version(), versionStr);
+			} else {
+				nonMatching.add(versionStr);
+			}
+		}
+		// stable sort, so equal versions retain their original order as with VersionStringComparator
+		Arrays.sort(matching, 0, matchingCount);
+		List<String> sorted = new ArrayList<>(versions.size());
+		for (int i = 0; i < matchingCount; i++) {
+			sorted.add(matching[i].versionString());
+		}
+		sorted.addAll(nonMatching);
+		return sorted;
+	}
+
+	/**
+	 * Returns collector which gathers version strings into list sorted as per {@link #sort(Collection, String)}
+	 * @param schema String
+	 * @return Collector of version Strings to sorted List
+	 */
+	public static Collector<String, ?, List<String>> toSortedList (String schema) {
+		return toSortedList(VersionSchema.compile(schema));
+	}
+
+	/**
+	 * Returns collector which gathers version strings into list sorted as per {@link #sort(Collection, CompiledSchema)}
+	 * @param cs CompiledSchema
+	 * @return Collector of version Strings to sorted List
+	 */
+	public static Collector<String, ?, List<String>> toSortedList (CompiledSchema cs) {
+		return Collectors.collectingAndThen(Collectors.toList(), versions -> sort(versions, cs));
+	}
+
+	/**
+	 * Sorts version strings in descending order, parsing them in parallel and sorting with parallel merge sort.
+	 * Equal versions retain their original order, so sorted list followed by non-matching versions is the same
+	 * as result of {@link #sort(Collection, CompiledSchema)}
+	 * @param versions Collection of version Strings
+	 * @param cs CompiledSchema
+	 * @return SortResult with sorted matching versions and non-matching versions
+	 */
+	public static SortResult sortParallel (Collection<String> versions, CompiledSchema cs) {
+		SortEntry[] entries = parseParallel(versions, cs);
+		SortEntry[] matching = Arrays.stream(entries).filter(e -> null != e.version()).toArray(SortEntry[]::new);
+		// stable for objects, same as Arrays.sort
+		Arrays.parallelSort(matching);
+		List<String> sorted = new ArrayList<>(matching.length);
+		for (SortEntry se : matching) {
+			sorted.add(se.versionString());
+		}
+		return new SortResult(sorted, collectNonMatching(entries));
+	}
+	
+	/**
+	 * Finds latest of version strings, parsing them and reducing to maximum in parallel.
+	 * If several strings represent the latest version, the first of them is returned
+	 * @param versions Collection of version Strings
+	 * @param cs CompiledSchema
+	 * @return LatestResult with latest matching version and non-matching versions
+	 */
+	public static LatestResult latest (Collection<String> versions, CompiledSchema cs) {
+		SortEntry[] entries = parseParallel(versions, cs);
+		Optional<String> latest = Arrays.stream(entries).parallel()
+				.filter(e -> null != e.version())
+				// ordered reduction keeps the left operand on ties, which is the earlier string
+				.reduce((left, right) -> (right.compareTo(left) < 0) ? right : left)
+				.map(SortEntry::versionString);
+		return new LatestResult(latest, collectNonMatching(entries));
+	}
+	
+	/**
+	 * Parses versions and computes their sort keys in parallel, entries of non-matching versions have null version
+	 */
+	private static SortEntry[] parseParallel (Collection<String> versions, CompiledSchema cs) {
+		String[] versionStrings = versions.toArray(new String[0]);
+		SortEntry[] entries = new SortEntry[versionStrings.length];
+		IntStream.range(0, versionStrings.length).parallel().forEach(i -> {
+			ParseResult pr = Version.tryParse(versionStrings[i], cs);
+			Version v = null;
+			if (pr.isMatching()) {
+				v = pr.version();
+				v.prepareSortKey();
+			}
+			entries[i] = new SortEntry(v, versionStrings[i]);
+		});
+		return entries;
+	}
+	
+	private static List<String> collectNonMatching (SortEntry[] entries) {
+		List<String> nonMatching = new ArrayList<>();
+		for (SortEntry se : entries) {
+			if (null == se.version()) nonMatching.add(se.versionString());
+		}
+		return nonMatching;
+	}
+	
+	/**
+	 * Version string paired with its parsed version, which serves as a sort key
+	 */
+	private static record SortEntry (Version version, String versionString) implements Comparable<SortEntry> {
+		@Override
+		public int compareTo (SortEntry other) {
+			return version.compareTo(other.version);
+		}
+	}
+}
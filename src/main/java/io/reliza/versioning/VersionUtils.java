@@ -5,6 +5,7 @@
 
 package io.reliza.versioning;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
@@ -14,7 +15,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -147,20 +147,18 @@ public class VersionUtils {
 	 * @param version
 	 * @param handleBranchInVersion
 	 * @param dashInSchemaAfterBranch
-	 * @param schema
+	 * @param schemaHasModifier
 	 * @return
 	 */
 	private static PlusDashElHelper handleDashesInVersion (String version, boolean handleBranchInVersion,
-			boolean dashInSchemaAfterBranch, String schema) {
+			boolean dashInSchemaAfterBranch, boolean schemaHasModifier) {
 		PlusDashElHelper pdeh = new PlusDashElHelper();
 		String[] dashelHelper = null;
 		if (version.contains("-") && (!handleBranchInVersion || dashInSchemaAfterBranch)) {
 			dashelHelper = version.split("-");
 			if (dashelHelper.length > 2) {
 				if (dashInSchemaAfterBranch) {
-					List<ParsedVersionElement> schemaElList = parseSchema(schema);
-					if (schemaElList.stream().filter(x -> x.ve() == VersionElement.CALVER_MODIFIER).findAny().isPresent() 
-							|| schemaElList.stream().filter(x -> x.ve() == VersionElement.SEMVER_MODIFIER).findAny().isPresent() ) {
+					if (schemaHasModifier) {
 						// just take the latest dash and split on that
 						pdeh.elHelper[1] = dashelHelper[dashelHelper.length - 1];
 						pdeh.elHelper[0] = version.replaceFirst("-" + pdeh.elHelper[1], "");
@@ -194,23 +192,30 @@ public class VersionUtils {
 	 * @return VersionHelper
 	 */
 	public static Optional<VersionHelper> parseVersion (String version, String schema, boolean isPin) {
+		return parseVersion(version, VersionSchema.compile(schema), isPin);
+	}
+
+	/**
+	 * This method parses version string into VersionHelper based on provided compiled schema
+	 * @param version String
+	 * @param cs CompiledSchema
+	 * @param isPin boolean, true if version is a pin
+	 * @return VersionHelper
+	 */
+	public static Optional<VersionHelper> parseVersion (String version, CompiledSchema cs, boolean isPin) {
 		// Capture the original schema's elements before any stripping below, so we can later
 		// reject versions/pins that carry a modifier or metadata the schema has no slot for.
-		Set<VersionElement> origSchemaEls = StringUtils.isEmpty(schema)
-				? java.util.Collections.emptySet()
-				: parseSchema(schema).stream().map(ParsedVersionElement::ve).collect(Collectors.toSet());
+		Set<VersionElement> origSchemaEls = cs.getElementSet();
 		// Only the schema dictates whether a branch element exists. Inspecting the version
 		// string for the substring "branch" produced false positives when a user's modifier
 		// or metadata happened to contain that word (e.g. "0.0.0-my-weird-branch-name").
-		boolean handleBranchInVersion = StringUtils.isNotEmpty(schema)
-				&& schema.toLowerCase().contains(VersionElement.BRANCH.name().toLowerCase());
-		boolean dashInSchemaAfterBranch = handleBranchInVersion && StringUtils.isNotEmpty(schema) && schema.contains("-") 
-			&& schema.indexOf("-") > schema.toLowerCase().indexOf(VersionElement.BRANCH.name().toLowerCase());
+		boolean handleBranchInVersion = cs.isHandleBranchInVersion();
+		boolean dashInSchemaAfterBranch = cs.isDashInSchemaAfterBranch();
 		// check special case for Maven-style Snapshot
 		boolean isSnapshot = false;
 		if (version.endsWith(Constants.MAVEN_STYLE_SNAPSHOT)) {
 			isSnapshot = true;
-			version = version.replaceFirst(Constants.MAVEN_STYLE_SNAPSHOT + "$", "");
+			version = version.substring(0, version.length() - Constants.MAVEN_STYLE_SNAPSHOT.length());
 		}
 		// handle + and - differently as semver supports other separators after plus and dash
 		String[] plusel = null;
@@ -218,62 +223,64 @@ public class VersionUtils {
 		if (plusElHelper.isFulfilled) {
 			plusel = plusElHelper.elHelper;
 			version = plusElHelper.version;
-			schema = stripSchemaFromMetadata(schema);
 		}
 
 		String[] dashel = null;
 		PlusDashElHelper dashElHelper = handleDashesInVersion(version, handleBranchInVersion,
-			dashInSchemaAfterBranch, schema);
+			dashInSchemaAfterBranch, cs.hasModifier());
 		if (dashElHelper.isFulfilled) {
 			dashel = dashElHelper.elHelper;
 			version = dashElHelper.version;
-			schema = stripSchemaFromModifier(schema);
 		}
 		
-		List<ParsedVersionElement> schemaEls = parseSchema(schema);
-		List<VersionComponent> versionComponents = new LinkedList<>();
-		Optional<VersionComponent> ovc = Optional.empty();
+		List<ParsedVersionElement> schemaEls = cs.getParseElements(plusElHelper.isFulfilled, dashElHelper.isFulfilled);
+		int schemaSize = schemaEls.size();
+		List<VersionComponent> versionComponents = new ArrayList<>(schemaSize);
+		int[] separatorPositions = locateSeparators(version);
+		int separatorCursor = 0;
 		int versionCharIndex = 0;
-		int schemaElIndex = 0;
 		
 		Optional<VersionHelper> ovh = Optional.empty();
-		for (ParsedVersionElement schemaEl : schemaEls) {
-			if (!schemaEl.isElementOptional() && versionCharIndex >= version.length()) {
-				// version does not match schema, return empty
-				return Optional.empty();
-			} else if (!(schemaEl.isElementOptional() && versionCharIndex >= version.length())) {
-				String versionSubstring = version.substring(versionCharIndex);
-				if (schemaElIndex < schemaEls.size() - 1) {
-					//String separator = schemaEls.get(schemaElIndex+1).frontSeparator();
-					// separator = normalizeSeparator(separator);
-
-					var verSplit = Arrays.asList(versionSubstring.split(SPLIT_REGEX_EXCLUDE_SEP));
-					var verSplitWithSeparators = Arrays.asList(versionSubstring.split(SPLIT_REGEX));
-					boolean curLastSplit = false;
-					if (verSplit.size() == 2) curLastSplit = true;
-					ovc = resolveVersionSchemaParseElement(verSplit, verSplitWithSeparators, schemaEls, schemaElIndex,
-							isPin, curLastSplit);
-					if (ovc.isPresent()) {
-						if ( versionCharIndex + ovc.get().representation().length() + 1 < version.length() &&
-								!schemaEls.get(schemaElIndex+1).frontSeparator().equals(
-								version.substring(versionCharIndex + ovc.get().representation().length(), 
-										versionCharIndex + ovc.get().representation().length() + 1))) {
-							return Optional.empty();
-						}
-						versionCharIndex += ovc.get().representation().length() 
-								+ schemaEls.get(schemaElIndex+1).frontSeparator().length(); 
-					}		
-				} else {
-					ovc = resolveVersionSchemaParseElement(List.of(versionSubstring), List.of(versionSubstring),
-							schemaEls, schemaElIndex, isPin, true);
-				}
-				if (ovc.isEmpty()) {
+		for (int schemaElIndex = 0; schemaElIndex < schemaSize; schemaElIndex++) {
+			ParsedVersionElement schemaEl = schemaEls.get(schemaElIndex);
+			if (versionCharIndex >= version.length()) {
+				if (!schemaEl.isElementOptional()) {
+					// version does not match schema, return empty
 					return Optional.empty();
+				}
+				continue;
+			}
+			VersionComponent vc;
+			if (schemaElIndex < schemaSize - 1) {
+				while (separatorCursor < separatorPositions.length
+						&& separatorPositions[separatorCursor] < versionCharIndex) {
+					++separatorCursor;
+				}
+				if (separatorCursor < separatorPositions.length
+						&& separatorPositions[separatorCursor] == versionCharIndex) {
+					// remainder starts with a separator - rare malformed input, keep legacy split semantics
+					vc = resolveVersionSchemaParseElement(version.substring(versionCharIndex), schemaEls,
+							schemaElIndex, isPin);
 				} else {
-					versionComponents.add(ovc.get());
+					vc = resolveVersionComponent(version, versionCharIndex, separatorPositions, separatorCursor,
+							schemaEls, schemaElIndex, isPin);
 				}
+				if (null != vc) {
+					int componentEnd = versionCharIndex + vc.representation().length();
+					String nextSeparator = schemaEls.get(schemaElIndex + 1).frontSeparator();
+					if (componentEnd + 1 < version.length() && !version.startsWith(nextSeparator, componentEnd)) {
+						return Optional.empty();
+					}
+					versionCharIndex = componentEnd + nextSeparator.length();
+				}
+			} else {
+				vc = isMatchingElement(schemaEl, version, versionCharIndex, version.length(), isPin)
+						? new VersionComponent(schemaEl, version.substring(versionCharIndex)) : null;
+			}
+			if (null == vc) {
+				return Optional.empty();
 			}
-			schemaElIndex++;
+			versionComponents.add(vc);
 		}		
 
 		String modifier = (null == dashel) ? null : dashel[1];
@@ -297,14 +304,118 @@ public class VersionUtils {
 		return ovh;
 	}
 	
+	/**
+	 * Returns positions of all version separators (+ : - _ .) in the supplied string in ascending order
+	 * @param version String
+	 * @return array of separator positions
+	 */
+	private static int[] locateSeparators (String version) {
+		int count = 0;
+		for (int i = 0; i < version.length(); i++) {
+			if (isSeparator(version.charAt(i))) ++count;
+		}
+		int[] positions = new int[count];
+		int j = 0;
+		for (int i = 0; i < version.length() && j < count; i++) {
+			if (isSeparator(version.charAt(i))) positions[j++] = i;
+		}
+		return positions;
+	}
+	
+	private static boolean isSeparator (char c) {
+		return c == '.' || c == '-' || c == '_' || c == '+' || c == ':';
+	}
+	
+	/**
+	 * Checks whether version characters in the range [from, to) match schema element, for pins
+	 * element name itself (i.e. "Patch") is also accepted
+	 */
+	private static boolean isMatchingElement (ParsedVersionElement schemaEl, String version, int from, int to,
+			boolean isPin) {
+		boolean matching = schemaEl.ve().matches(version, from, to);
+		if (!matching && isPin) matching = schemaEl.ve() == VersionElement.getVersionElement(version.substring(from, to));
+		return matching;
+	}
+	
+	/**
+	 * Resolves version component for schema element which is not the last one, scanning version from versionCharIndex.
+	 * Candidate component is the remainder up to the first separator, then up to the second separator and so on,
+	 * it is accepted when it matches the schema element and the field following it matches the next schema element.
+	 * Elements that may contain separators are only extended over multiple fields while more than one schema element
+	 * remains after them, or when a single field is left to the next element.
+	 * Version fields are addressed by separator positions, so no substrings are created until component is accepted.
+	 * Remainder must not start with a separator.
+	 * @param version String
+	 * @param versionCharIndex int, start of the remainder
+	 * @param separatorPositions int array, positions of all separators in version
+	 * @param separatorCursor int, index in separatorPositions of the first separator after versionCharIndex
+	 * @param schemaEls list of ParsedVersionElement
+	 * @param schemaElIndex int, index of schema element to resolve
+	 * @param isPin boolean
+	 * @return VersionComponent or null if the remainder does not match
+	 */
+	private static VersionComponent resolveVersionComponent (String version, int versionCharIndex,
+			int[] separatorPositions, int separatorCursor, List<ParsedVersionElement> schemaEls, int schemaElIndex,
+			boolean isPin) {
+		int separatorCount = separatorPositions.length - separatorCursor;
+		// number of fields between separators, trailing empty fields are ignored
+		int fieldCount = separatorCount + 1;
+		while (fieldCount > 1 && fieldStart(separatorPositions, separatorCursor, versionCharIndex, fieldCount - 1)
+				== fieldEnd(separatorPositions, separatorCursor, version.length(), fieldCount - 1)) {
+			--fieldCount;
+		}
+		ParsedVersionElement schemaEl = schemaEls.get(schemaElIndex);
+		if (fieldCount == 1) {
+			int end = fieldEnd(separatorPositions, separatorCursor, version.length(), 0);
+			return isMatchingElement(schemaEl, version, versionCharIndex, end, isPin)
+					? new VersionComponent(schemaEl, version.substring(versionCharIndex, end)) : null;
+		}
+		ParsedVersionElement nextSchemaEl = schemaEls.get(schemaElIndex + 1);
+		boolean extendable = !schemaEl.ve().isMayContainSeparators() || schemaElIndex + 2 < schemaEls.size();
+		VersionComponent vc = null;
+		for (int field = 0; null == vc && field + 1 < fieldCount; field++) {
+			if (extendable || field + 2 == fieldCount) {
+				int end = separatorPositions[separatorCursor + field];
+				if (isMatchingElement(schemaEl, version, versionCharIndex, end, isPin)
+						&& isMatchingElement(nextSchemaEl, version, end + 1,
+								fieldEnd(separatorPositions, separatorCursor, version.length(), field + 1), isPin)) {
+					vc = new VersionComponent(schemaEl, version.substring(versionCharIndex, end));
+				}
+			}
+		}
+		return vc;
+	}
+	
+	private static int fieldStart (int[] separatorPositions, int separatorCursor, int versionCharIndex, int field) {
+		return (field == 0) ? versionCharIndex : separatorPositions[separatorCursor + field - 1] + 1;
+	}
+	
+	private static int fieldEnd (int[] separatorPositions, int separatorCursor, int versionLength, int field) {
+		return (separatorCursor + field < separatorPositions.length) ? separatorPositions[separatorCursor + field]
+				: versionLength;
+	}
+	
+	/**
+	 * Split-based resolution of version component, only used when the remainder starts with a separator,
+	 * where fields are merged in a way that does not correspond to contiguous version characters
+	 */
+	private static VersionComponent resolveVersionSchemaParseElement (String versionSubstring,
+			List<ParsedVersionElement> schemaEls, int schemaElIndex, boolean isPin) {
+		var verSplit = Arrays.asList(versionSubstring.split(SPLIT_REGEX_EXCLUDE_SEP));
+		var verSplitWithSeparators = Arrays.asList(versionSubstring.split(SPLIT_REGEX));
+		boolean curLastSplit = false;
+		if (verSplit.size() == 2) curLastSplit = true;
+		return resolveVersionSchemaParseElement(verSplit, verSplitWithSeparators, schemaEls, schemaElIndex,
+				isPin, curLastSplit).orElse(null);
+	}
+	
 	private static Optional<VersionComponent> resolveVersionSchemaParseElement (List<String> verSplit,
 			List<String> verSplitWithSeparators, List<ParsedVersionElement> schemaEls, int schemaElIndex, boolean isPin,
 			boolean lastSplit) {
 		Optional<VersionComponent> ovc = Optional.empty();
 		if (verSplit.size() == 1 && schemaElIndex < schemaEls.size()) {
 			ParsedVersionElement schemaEl = schemaEls.get(schemaElIndex);
-			Pattern p = schemaEl.ve().getRegexPattern();
-			boolean matching = p.matcher(verSplit.get(0)).matches();
+			boolean matching = schemaEl.ve().matches(verSplit.get(0));
 			if (!matching && isPin) matching = schemaEl.ve() == VersionElement.getVersionElement(verSplit.get(0));
 			if (matching) ovc = Optional.of(new VersionComponent(schemaEl, verSplit.get(0)));
 		} else if (verSplit.size() == 2 && (
@@ -313,11 +424,9 @@ public class VersionUtils {
 				&& (lastSplit || schemaElIndex + 2 < schemaEls.size())))) {
 			ParsedVersionElement schemaEl1 = schemaEls.get(schemaElIndex);
 			ParsedVersionElement schemaEl2 = schemaEls.get(schemaElIndex + 1);
-			Pattern p1 = schemaEl1.ve().getRegexPattern();
-			boolean matching1 = p1.matcher(verSplit.get(0)).matches();
+			boolean matching1 = schemaEl1.ve().matches(verSplit.get(0));
 			if (!matching1 && isPin) matching1 = schemaEl1.ve() == VersionElement.getVersionElement(verSplit.get(0));
-			Pattern p2 = schemaEl2.ve().getRegexPattern();
-			boolean matching2 = p2.matcher(verSplit.get(1)).matches();
+			boolean matching2 = schemaEl2.ve().matches(verSplit.get(1));
 			if (!matching2 && isPin) matching2 = schemaEl2.ve() == VersionElement.getVersionElement(verSplit.get(1));
 			if (matching1 && matching2) ovc = Optional.of(new VersionComponent(schemaEl1, verSplit.get(0)));
 		} else if (verSplit.size() > 2) {
@@ -346,36 +455,42 @@ public class VersionUtils {
 	 * @return true if version is matching schema, false otherwise
 	 */
 	public static boolean isVersionMatchingSchema (String schema, String version) {
-		boolean matching = true;
-		
-		Optional<VersionHelper> ovh = parseVersion(version, schema, false);
-		
-		if (ovh.isEmpty()) matching = false;
-
-		if (matching) {
-			Optional<VersionType> ovt = VersionType.resolveByAliasName(schema);
-			if (ovt.isPresent()) schema = ovt.get().getSchema();
-			
-			List<ParsedVersionElement> pveList = parseSchema(schema);
-			List<VersionComponent> versionComponents = ovh.get().getVersionComponents();
+		return isVersionMatchingSchema(VersionSchema.compile(schema), version);
+	}
 	
-			if (versionComponents.size() > pveList.size()) {
-				matching = false;
-			}
-			
-			var pveListIter = pveList.iterator();
-			int i = 0;
-			while (matching && pveListIter.hasNext() && i < versionComponents.size()) {
-				ParsedVersionElement pve = pveListIter.next();
-				VersionComponent vc = versionComponents.get(i);
-				Pattern p = pve.ve().getRegexPattern();
-				matching = p.matcher(vc.representation()).matches();
-				// TODO recurse if not matching and element optional
-				// if (!matching && pve.isElementOptional())
-				++i;
-			}
-		}
+	/**
+	 * This method returns true if supplied version string matches supplied compiled schema
+	 * @param cs CompiledSchema
+	 * @param version String
+	 * @return true if version is matching schema, false otherwise
+	 */
+	public static boolean isVersionMatchingSchema (CompiledSchema cs, String version) {
+		Optional<VersionHelper> ovh = parseVersion(version, cs, false);
+		return ovh.isPresent() && isMatchingSchemaElements(cs, ovh.get());
+	}
+	
+	/**
+	 * Checks components of already parsed version against schema elements in schema order
+	 * @param cs CompiledSchema
+	 * @param vh VersionHelper
+	 * @return true if every component is valid for corresponding schema element
+	 */
+	static boolean isMatchingSchemaElements (CompiledSchema cs, VersionHelper vh) {
+		List<ParsedVersionElement> pveList = cs.getElements();
+		List<VersionComponent> versionComponents = vh.getVersionComponents();
+
+		boolean matching = versionComponents.size() <= pveList.size();
 		
+		var pveListIter = pveList.iterator();
+		int i = 0;
+		while (matching && pveListIter.hasNext() && i < versionComponents.size()) {
+			ParsedVersionElement pve = pveListIter.next();
+			VersionComponent vc = versionComponents.get(i);
+			matching = pve.ve().matches(vc.representation());
+			// TODO recurse if not matching and element optional
+			// if (!matching && pve.isElementOptional())
+			++i;
+		}
 		return matching;
 	}
 	
@@ -387,20 +502,29 @@ public class VersionUtils {
 	 * @return true if pin is matching schema, false otherwise
 	 */
 	public static boolean isPinMatchingSchema (String schema, String pin) {
+		return isPinMatchingSchema(VersionSchema.compile(schema), pin);
+	}
+	
+	/**
+	 * This method returns true if supplied version pin matches supplied compiled schema
+	 * @param cs CompiledSchema
+	 * @param pin String
+	 * @return true if pin is matching schema, false otherwise
+	 */
+	public static boolean isPinMatchingSchema (CompiledSchema cs, String pin) {
 		boolean matching = true;
 
-		Optional<VersionType> ovt = VersionType.resolveByAliasName(schema);
-		if (ovt.isPresent()) schema = ovt.get().getSchema();
+		CompiledSchema rcs = cs.resolved();
 		
 		Optional<VersionType> ovtpin = VersionType.resolveByAliasName(pin);
 		if (ovtpin.isPresent()) pin = ovtpin.get().getSchema();
 		
-		Optional<VersionHelper> ovhPin = parseVersion(pin, schema, true);
+		Optional<VersionHelper> ovhPin = parseVersion(pin, rcs, true);
 		if (ovhPin.isEmpty()) matching = false;
 		if (matching) {
 			List<VersionComponent> pinComponents = ovhPin.get().getVersionComponents();
 	
-			List<ParsedVersionElement> pveList = parseSchema(schema);
+			List<ParsedVersionElement> pveList = rcs.getElements();
 	
 			if (pinComponents.size() > pveList.size()) {
 				matching = false;
@@ -411,12 +535,11 @@ public class VersionUtils {
 			while (matching && pveListIter.hasNext() && i < pinComponents.size()) {
 				ParsedVersionElement schemaPve = pveListIter.next();
 				VersionComponent pinComp = pinComponents.get(i);
-				Pattern p = schemaPve.ve().getRegexPattern();
 				String elRepresentation = pinComp.representation();
 				if (elRepresentation.endsWith("?")) {
 					elRepresentation = elRepresentation.substring(0, elRepresentation.length() - 1);
 				}
-				matching = p.matcher(pinComp.representation()).matches() 
+				matching = schemaPve.ve().matches(pinComp.representation())
 						|| VersionElement.getVersionElement(elRepresentation) == schemaPve.ve();
 				if (!matching && schemaPve.isElementOptional() && pveListIter.hasNext()) {
 					// try next cycle over the same pin component
@@ -438,23 +561,51 @@ public class VersionUtils {
 	 * @return true if version is matching schema and pin, false otherwise
 	 */
 	public static boolean isVersionMatchingSchemaAndPin (String schema, String pin, String version) {
-		boolean matching = isPinMatchingSchema(schema, pin);
-		if (matching) matching = isVersionMatchingSchema(schema, version); 
+		return isVersionMatchingSchemaAndPin(VersionSchema.compile(schema), pin, version);
+	}
+	
+	/**
+	 * This method returns true if supplied version matches supplied pin as well as supplied compiled schema
+	 * @param cs CompiledSchema
+	 * @param pin String
+	 * @param version String
+	 * @return true if version is matching schema and pin, false otherwise
+	 */
+	public static boolean isVersionMatchingSchemaAndPin (CompiledSchema cs, String pin, String version) {
+		if (!isPinMatchingSchema(cs, pin)) return false;
+		return isVersionMatchingParsedPin(cs, parsePinForMatching(cs, pin), version);
+	}
+	
+	/**
+	 * Resolves pin alias and parses pin against schema as supplied, as expected by
+	 * {@link #isVersionMatchingParsedPin(CompiledSchema, Optional, String)}
+	 * @param cs CompiledSchema
+	 * @param pin String, must be matching schema
+	 * @return Optional of parsed pin
+	 */
+	static Optional<VersionHelper> parsePinForMatching (CompiledSchema cs, String pin) {
+		Optional<VersionType> ovtpin = VersionType.resolveByAliasName(pin);
+		if (ovtpin.isPresent()) pin = ovtpin.get().getSchema();
+		return parseVersion(pin, cs, true);
+	}
+	
+	/**
+	 * Same as {@link #isVersionMatchingSchemaAndPin(CompiledSchema, String, String)} for a pin which is already
+	 * known to match schema, so that pin parsing can be shared between many versions
+	 * @param cs CompiledSchema
+	 * @param ovhPin pin parsed against cs with alias resolved
+	 * @param version String
+	 * @return true if version is matching schema and pin, false otherwise
+	 */
+	static boolean isVersionMatchingParsedPin (CompiledSchema cs, Optional<VersionHelper> ovhPin, String version) {
+		Optional<VersionHelper> ovhVersion = parseVersion(version, cs, false);
+		boolean matching = ovhVersion.isPresent() && isMatchingSchemaElements(cs, ovhVersion.get())
+				&& ovhPin.isPresent();
 		if (matching) {
-			Optional<VersionType> ovtpin = VersionType.resolveByAliasName(pin);
-			if (ovtpin.isPresent()) pin = ovtpin.get().getSchema();
-			
-			Optional<VersionHelper> ovhPin = parseVersion(pin, schema, true);
-			Optional<VersionHelper> ovhVersion = parseVersion(version, schema, false);
-			
-			if (ovhPin.isEmpty() || ovhVersion.isEmpty()) matching = false;
-			
-			if (matching) {
-				for (int i=0; matching && i < ovhVersion.get().getVersionComponents().size(); i++) {
-					if (null == VersionElement.getVersionElement(ovhPin.get().getVersionComponents().get(i).representation())) {
-						matching = ovhPin.get().getVersionComponents().get(i).representation()
-								.equals(ovhVersion.get().getVersionComponents().get(i).representation());
-					}
+			for (int i=0; matching && i < ovhVersion.get().getVersionComponents().size(); i++) {
+				if (null == VersionElement.getVersionElement(ovhPin.get().getVersionComponents().get(i).representation())) {
+					matching = ovhPin.get().getVersionComponents().get(i).representation()
+							.equals(ovhVersion.get().getVersionComponents().get(i).representation());
 				}
 			}
 		}
@@ -467,12 +618,12 @@ public class VersionUtils {
 	 * @param schema String
 	 * @return schema string without modifier or metadata elements
 	 */
-	private static String stripSchemaFromModifier (String schema) {
+	static String stripSchemaFromModifier (String schema) {
 		schema = schema.replaceAll("(?i)-modifier(\\?)?", "");
 		return schema;
 	}
 	
-	private static String stripSchemaFromMetadata (String schema) {
+	static String stripSchemaFromMetadata (String schema) {
 		schema = schema.replaceAll("(?i)\\+metadata(\\?)?", "");
 		return schema;
 	}
@@ -486,6 +637,15 @@ public class VersionUtils {
 		return Version.getVersion(schema);
 	}
 	
+	/**
+	 * This method returns base version based on supplied compiled schema
+	 * @param cs CompiledSchema
+	 * @return version String
+	 */
+	public static Version initializeEmptyVersion(CompiledSchema cs) {
+		return Version.getVersion(cs);
+	}
+	
 	/**
 	 * This method returns base version based on supplied schema, modifier and metadata
 	 * @param schema String
@@ -494,7 +654,31 @@ public class VersionUtils {
 	 * @return version String
 	 */
 	public static Version initializeVersionWithModMeta(String schema, String modifier, String metadata) {
-		Version v = Version.getVersion(schema);
+		return initializeVersionWithModMeta(VersionSchema.compile(schema), modifier, metadata);
+	}
+	
+	/**
+	 * This method returns base version based on supplied compiled schema, modifier and metadata
+	 * @param cs CompiledSchema
+	 * @param modifier String
+	 * @param metadata String
+	 * @return version String
+	 */
+	public static Version initializeVersionWithModMeta(CompiledSchema cs, String modifier, String metadata) {
+		return initializeVersionWithModMeta(cs, modifier, metadata, null);
+	}
+	
+	/**
+	 * This method returns base version based on supplied compiled schema, modifier and metadata,
+	 * with CalVer date taken from supplied clock
+	 * @param cs CompiledSchema
+	 * @param modifier String
+	 * @param metadata String
+	 * @param clock Clock, system clock if null
+	 * @return version String
+	 */
+	public static Version initializeVersionWithModMeta(CompiledSchema cs, String modifier, String metadata, Clock clock) {
+		Version v = Version.getVersion(cs, clock);
 		v.setModifier(modifier);
 		v.setMetadata(metadata);
 		return v;
@@ -527,19 +711,9 @@ public class VersionUtils {
 		if (ovt.isPresent() && ovt.get() == VersionType.SEMVER) return true;
 		// Check if schema is valid before parsing
 		if (!isSchemaValid(schema)) return false;
-		// Parse schema to version elements and check structure
-		List<ParsedVersionElement> schemaVeList = parseSchema(schema);
-		if (schemaVeList.size() < 3 || schemaVeList.size() > 5) return false;
-		// Core semver must have exactly MAJOR, MINOR, PATCH (in that order) as first 3 elements
-		if (schemaVeList.get(0).ve() != VersionElement.MAJOR) return false;
-		if (schemaVeList.get(1).ve() != VersionElement.MINOR) return false;
-		if (schemaVeList.get(2).ve() != VersionElement.PATCH) return false;
-		// Remaining elements (if any) must be modifier or metadata only
-		for (int i = 3; i < schemaVeList.size(); i++) {
-			VersionElement ve = schemaVeList.get(i).ve();
-			if (ve != VersionElement.SEMVER_MODIFIER && ve != VersionElement.METADATA) return false;
-		}
-		return true;
+		// Core semver must have exactly MAJOR, MINOR, PATCH (in that order) as first 3 elements,
+		// remaining elements (if any) must be modifier or metadata only
+		return VersionSchema.compile(schema).isSemver();
 	}
 	
 	/**
@@ -550,16 +724,7 @@ public class VersionUtils {
 	public static boolean isSchemaCalver (String schema) {
 		if (StringUtils.isEmpty(schema)) return false;
 		if (!isSchemaValid(schema)) return false;
-		boolean isCalver = false;
-		Set<VersionElement> veSet = parseSchema(schema).stream().map(x -> x.ve()).collect(Collectors.toSet());
-		if (veSet.contains(VersionElement.OY) || 
-				veSet.contains(VersionElement.YY) || 
-				veSet.contains(VersionElement.YYYY) ||
-				veSet.contains(VersionElement.YYYYOM) ||
-				veSet.contains(VersionElement.YYOM)) {
-			isCalver = true;
-		}
-		return isCalver;
+		return VersionSchema.compile(schema).isCalver();
 	}
 	
 	/**
@@ -580,11 +745,25 @@ public class VersionUtils {
 		Objects.requireNonNull(oldVersion, "Old version must not be null");
 		Objects.requireNonNull(newVersion, "New version must not be null");
 		Objects.requireNonNull(schema, "Schema must not be null");
+		return getLargestVersionElementDifference(oldVersion, newVersion, VersionSchema.compile(schema));
+	}
+	
+	/**
+	 * Same as {@link #getLargestVersionElementDifference(String, String, String)}, but uses compiled schema
+	 * @param oldVersion String
+	 * @param newVersion String
+	 * @param cs CompiledSchema Both versions must match the specified schema otherwise null will be returned.
+	 * @return VersionElement representing the largest difference between the two versions. Returns null if versions are equal or either does not match schema.
+	 */
+	public static VersionElement getLargestVersionElementDifference(String oldVersion, String newVersion, CompiledSchema cs) {
+		Objects.requireNonNull(oldVersion, "Old version must not be null");
+		Objects.requireNonNull(newVersion, "New version must not be null");
+		Objects.requireNonNull(cs, "Schema must not be null");
 		VersionElement returnVe = null;
-		Optional<VersionHelper> oldVh = parseVersion(oldVersion, schema, false);
-		Optional<VersionHelper> newVh = parseVersion(newVersion, schema, false);
+		Optional<VersionHelper> oldVh = parseVersion(oldVersion, cs, false);
+		Optional<VersionHelper> newVh = parseVersion(newVersion, cs, false);
 		if (oldVh.isPresent() && newVh.isPresent()) {
-			List<ParsedVersionElement> schemaPveList = parseSchema(schema);
+			List<ParsedVersionElement> schemaPveList = cs.getElements();
 			int minVersionLength = Math.min(oldVh.get().getVersionComponents().size(), newVh.get().getVersionComponents().size());
 			// use old for loop so we can reference both version component lists
 			for (int i = 0; i < minVersionLength && returnVe == null; i++) {
@@ -622,31 +801,34 @@ public class VersionUtils {
 		if (ovt.isPresent() && ovt.get() == VersionType.FOUR_PART_VERSIONING) return true;
 		// Check if schema is valid before parsing
 		if (!isSchemaValid(schema)) return false;
-		// Parse schema to version elements and check structure
-		List<ParsedVersionElement> elements = parseSchema(schema);
-		if (elements.size() < 4 || elements.size() > 6) return false;
-		// Core four-part must have exactly MAJOR, MINOR, PATCH, NANO (in that order) as first 4 elements
-		if (elements.get(0).ve() != VersionElement.MAJOR) return false;
-		if (elements.get(1).ve() != VersionElement.MINOR) return false;
-		if (elements.get(2).ve() != VersionElement.PATCH) return false;
-		if (elements.get(3).ve() != VersionElement.NANO) return false;
-		// Remaining elements (if any) must be optional modifier or metadata
-		for (int i = 4; i < elements.size(); i++) {
-			VersionElement ve = elements.get(i).ve();
-			if (ve != VersionElement.SEMVER_MODIFIER && ve != VersionElement.METADATA) return false;
-		}
-		return true;
+		// Core four-part must have exactly MAJOR, MINOR, PATCH, NANO (in that order) as first 4 elements,
+		// remaining elements (if any) must be optional modifier or metadata
+		return VersionSchema.compile(schema).isFourPartVersioning();
 	}
 
 	public static VersionElement getLargestSemverVersionElementDifference(String oldVersion, String newVersion, String schema) {
 		Objects.requireNonNull(oldVersion, "Old version must not be null");
 		Objects.requireNonNull(newVersion, "New version must not be null");
 		Objects.requireNonNull(schema, "Schema must not be null");
+		return getLargestSemverVersionElementDifference(oldVersion, newVersion, VersionSchema.compile(schema));
+	}
+	
+	/**
+	 * Same as getLargestSemverVersionElementDifference() accepting String schema, but uses compiled schema
+	 * @param oldVersion String
+	 * @param newVersion String
+	 * @param cs CompiledSchema Does not have to be strictly Semver. Must match both versions
+	 * @return VersionElement representing the largest differing semver version component between the two versions, or null if either version does match schema.
+	 */
+	public static VersionElement getLargestSemverVersionElementDifference(String oldVersion, String newVersion, CompiledSchema cs) {
+		Objects.requireNonNull(oldVersion, "Old version must not be null");
+		Objects.requireNonNull(newVersion, "New version must not be null");
+		Objects.requireNonNull(cs, "Schema must not be null");
 		VersionElement returnVe = null;
-		Optional<VersionHelper> oldVh = parseVersion(oldVersion, schema, false);
-		Optional<VersionHelper> newVh = parseVersion(newVersion, schema, false);
+		Optional<VersionHelper> oldVh = parseVersion(oldVersion, cs, false);
+		Optional<VersionHelper> newVh = parseVersion(newVersion, cs, false);
 		if (oldVh.isPresent() && newVh.isPresent()) {
-			List<ParsedVersionElement> schemaPveList = parseSchema(schema);
+			List<ParsedVersionElement> schemaPveList = cs.getElements();
 			int minVersionLength = Math.min(oldVh.get().getVersionComponents().size(), newVh.get().getVersionComponents().size());
 			// use old for loop so we can reference both version component lists
 			for (int i = 0; i < minVersionLength && returnVe == null; i++) {
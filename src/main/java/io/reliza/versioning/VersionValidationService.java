@@ -0,0 +1,159 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.reliza.versioning.Version.VersionHelper;
+
+/**
+ * This class validates large batches of versions against schemas and optional pins asynchronously,
+ * with the same result as {@link VersionUtils#isVersionMatchingSchemaAndPin(CompiledSchema, String, String)}
+ * or, for checks without pin, {@link VersionUtils#isVersionMatchingSchema(CompiledSchema, String)}.
+ *
+ * <p>Batches are split into chunks which run on virtual threads, or on executor supplied by the caller.
+ * Within a chunk, each distinct schema and pin pair is compiled, validated and parsed once. Number of checks
+ * submitted but not yet completed is bounded by a semaphore: once the bound is reached,
+ * {@link #validateAll(List)} blocks the caller until earlier checks complete.</p>
+ *
+ */
+public final class VersionValidationService implements AutoCloseable {
+
+	/**
+	 * Default maximum number of checks submitted but not yet completed
+	 */
+	public static final int DEFAULT_MAX_PENDING_CHECKS = 1 << 16;
+
+	private static final int CHUNK_SIZE = 256;
+
+	/**
+	 * Single version check, pin is optional
+	 */
+	public static record ValidationRequest (String schema, String version, String pin) {
+		/**
+		 * Creates check without pin
+		 * @param schema String
+		 * @param version String
+		 */
+		public ValidationRequest (String schema, String version) {
+			this(schema, version, null);
+		}
+	}
+
+	/**
+	 * Outcome of a single check, error is set if check could not be performed, i.e. schema has unknown elements
+	 */
+	public static record ValidationResult (ValidationRequest request, boolean valid, RuntimeException error) {}
+
+	private final Executor executor;
+	private final ExecutorService ownedExecutor;
+	private final Semaphore pendingChecks;
+	private final int chunkSize;
+
+	/**
+	 * Creates service which runs checks on virtual threads, with {@value #DEFAULT_MAX_PENDING_CHECKS} maximum pending checks
+	 */
+	public VersionValidationService () {
+		this(null, DEFAULT_MAX_PENDING_CHECKS);
+	}
+
+	/**
+	 * Creates service which runs checks on supplied executor
+	 * @param executor Executor, if null checks run on virtual threads created by the service
+	 * @param maxPendingChecks int maximum number of checks submitted but not yet completed
+	 */
+	public VersionValidationService (Executor executor, int maxPendingChecks) {
+		if (maxPendingChecks < 1) {
+			throw new IllegalArgumentException("Maximum of pending checks must be positive");
+		}
+		this.ownedExecutor = (null == executor) ? Executors.newVirtualThreadPerTaskExecutor() : null;
+		this.executor = (null == executor) ? ownedExecutor : executor;
+		this.pendingChecks = new Semaphore(maxPendingChecks);
+		this.chunkSize = Math.min(CHUNK_SIZE, maxPendingChecks);
+	}
+
+	/**
+	 * Validates batch of checks, blocking while the service has maximum of pending checks
+	 * @param requests List of ValidationRequest
+	 * @return CompletableFuture of results in order of requests
+	 */
+	public CompletableFuture<List<ValidationResult>> validateAll (List<ValidationRequest> requests) {
+		ValidationRequest[] reqs = requests.toArray(new ValidationRequest[0]);
+		ValidationResult[] results = new ValidationResult[reqs.length];
+		List<CompletableFuture<Void>> chunks = new ArrayList<>();
+		try {
+			for (int from = 0; from < reqs.length; from += chunkSize) {
+				int start = from;
+				int end = Math.min(from + chunkSize, reqs.length);
+				pendingChecks.acquire(end - start);
+				try {
+					chunks.add(CompletableFuture.runAsync(() -> validateChunk(reqs, results, start, end), executor)
+							.whenComplete((r, t) -> pendingChecks.release(end - start)));
+				} catch (RuntimeException re) {
+					// executor rejected the chunk
+					pendingChecks.release(end - start);
+					throw re;
+				}
+			}
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			return CompletableFuture.failedFuture(ie);
+		}
+		return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]))
+				.thenApply(v -> Arrays.asList(results));
+	}
+
+	private static void validateChunk (ValidationRequest[] reqs, ValidationResult[] results, int from, int to) {
+		Map<List<String>, PinCheck> pinChecks = new HashMap<>();
+		for (int i = from; i < to; i++) {
+			ValidationRequest vr = reqs[i];
+			try {
+				boolean valid;
+				if (StringUtils.isEmpty(vr.pin())) {
+					valid = VersionUtils.isVersionMatchingSchema(VersionSchema.compile(vr.schema()), vr.version());
+				} else {
+					PinCheck pc = pinChecks.computeIfAbsent(Arrays.asList(vr.schema(), vr.pin()), PinCheck::resolve);
+					valid = pc.pinMatching() && VersionUtils.isVersionMatchingParsedPin(pc.cs(), pc.pinHelper(), vr.version());
+				}
+				results[i] = new ValidationResult(vr, valid, null);
+			} catch (RuntimeException re) {
+				results[i] = new ValidationResult(vr, false, re);
+			}
+		}
+	}
+
+	/**
+	 * Schema compiled and pin validated and parsed once for all checks with the same schema and pin
+	 */
+	private static record PinCheck (CompiledSchema cs, boolean pinMatching, Optional<VersionHelper> pinHelper) {
+		private static PinCheck resolve (List<String> schemaAndPin) {
+			CompiledSchema cs = VersionSchema.compile(schemaAndPin.get(0));
+			String pin = schemaAndPin.get(1);
+			boolean pinMatching = VersionUtils.isPinMatchingSchema(cs, pin);
+			return new PinCheck(cs, pinMatching, pinMatching ? VersionUtils.parsePinForMatching(cs, pin) : Optional.empty());
+		}
+	}
+
+	/**
+	 * Shuts down virtual thread executor if it was created by the service, supplied executors are left running
+	 */
+	@Override
+	public void close () {
+		if (null != ownedExecutor) ownedExecutor.shutdown();
+	}
+}
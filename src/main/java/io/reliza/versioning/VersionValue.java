@@ -0,0 +1,422 @@
+/**
+* Copyright 2019 - 2025 Reliza Incorporated. Licensed under MIT License.
+* https://reliza.io
+*/
+
+package io.reliza.versioning;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+import io.reliza.versioning.VersionApi.ActionEnum;
+
+/**
+ * Immutable companion of {@link Version}. Every withX and bumped method returns a new instance and leaves
+ * the original untouched, so values may be shared between threads, cached or interned without locking.
+ * Use {@link Version#toValue()} and {@link #toVersion()} to convert between the two representations.
+ *
+ * <p>Unlike {@link Version#equals(Object)}, equality of values takes branch into account, so equal values
+ * always render to the same version string.</p>
+ *
+ */
+public final class VersionValue implements Comparable<VersionValue> {
+
+	private final CompiledSchema compiledSchema;
+	private final Integer major;
+	private final Integer minor;
+	private final Integer patch;
+	private final Integer nano;
+	private final Integer year;
+	private final Integer month;
+	private final Integer day;
+	private final String modifier;
+	private final String metadata;
+	private final String buildid;
+	private final String buildenv;
+	private final String branch;
+	private final boolean isSnapshot;
+	private volatile Version view; // lazily created read-only Version used for rendering and comparison, never exposed
+	private int hash; // lazily computed, 0 if not yet computed
+
+	/**
+	 * Package-private constructor, use {@link Version#toValue()} or factory methods instead
+	 */
+	VersionValue (CompiledSchema compiledSchema, Integer major, Integer minor, Integer patch, Integer nano,
+			Integer year, Integer month, Integer day, String modifier, String metadata,
+			String buildid, String buildenv, String branch, boolean isSnapshot) {
+		this.compiledSchema = Objects.requireNonNull(compiledSchema, "schema");
+		this.major = major;
+		this.minor = minor;
+		this.patch = patch;
+		this.nano = nano;
+		this.year = year;
+		this.month = month;
+		this.day = day;
+		this.modifier = modifier;
+		this.metadata = metadata;
+		this.buildid = buildid;
+		this.buildenv = buildenv;
+		this.branch = branch;
+		this.isSnapshot = isSnapshot;
+	}
+
+	/**
+	 * Factory method to create value from version string and schema
+	 * @param version String
+	 * @param schema String
+	 * @return VersionValue
+	 * @throws RuntimeException if version is not matching schema
+	 */
+	public static VersionValue of (String version, String schema) {
+		return Version.getVersion(version, schema).toValue();
+	}
+
+	/**
+	 * Factory method to create value from version string and compiled schema
+	 * @param version String
+	 * @param cs CompiledSchema
+	 * @return VersionValue
+	 * @throws RuntimeException if version is not matching schema
+	 */
+	public static VersionValue of (String version, CompiledSchema cs) {
+		return Version.getVersion(version, cs).toValue();
+	}
+
+	/**
+	 * Returns new mutable Version object with the same fields as this value
+	 * @return Version
+	 */
+	public Version toVersion () {
+		return Version.getVersion(this);
+	}
+
+	/**
+	 * Returns value with supplied action applied, same way as {@link VersionApi#applyActionOnVersion(Version, ActionEnum)} does
+	 * @param ae ActionEnum
+	 * @return new VersionValue
+	 */
+	public VersionValue bumped (ActionEnum ae) {
+		return bumped(ae, null);
+	}
+
+	/**
+	 * Same as {@link #bumped(ActionEnum)}, with CalVer date taken from supplied clock if action changes it
+	 * @param ae ActionEnum
+	 * @param clock Clock, system clock if null
+	 * @return new VersionValue
+	 */
+	public VersionValue bumped (ActionEnum ae, Clock clock) {
+		Version v = toVersion();
+		VersionApi.applyActionOnVersion(v, ae, clock);
+		return v.toValue();
+	}
+
+	/**
+	 * @param major Integer
+	 * @return new VersionValue with major element set to supplied value
+	 */
+	public VersionValue withMajor (Integer major) {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @param minor Integer
+	 * @return new VersionValue with minor element set to supplied value
+	 */
+	public VersionValue withMinor (Integer minor) {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @param patch Integer
+	 * @return new VersionValue with patch element set to supplied value
+	 */
+	public VersionValue withPatch (Integer patch) {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @param nano Integer
+	 * @return new VersionValue with nano element set to supplied value
+	 */
+	public VersionValue withNano (Integer nano) {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @param date ZonedDateTime to take CalVer elements from, current UTC date if null
+	 * @return new VersionValue with year, month and day set to supplied date
+	 */
+	public VersionValue withDate (ZonedDateTime date) {
+		if (null == date) {
+			date = ZonedDateTime.now(Constants.UTC_ZONE_ID);
+		}
+		return new VersionValue(compiledSchema, major, minor, patch, nano,
+				date.getYear(), date.getMonth().getValue(), date.getDayOfMonth(),
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @param modifier String
+	 * @return new VersionValue with modifier set to supplied value
+	 */
+	public VersionValue withModifier (String modifier) {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @param metadata String
+	 * @return new VersionValue with metadata set to supplied value
+	 */
+	public VersionValue withMetadata (String metadata) {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @param buildid String
+	 * @return new VersionValue with Buildid set to supplied value
+	 */
+	public VersionValue withBuildid (String buildid) {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @param buildenv String
+	 * @return new VersionValue with Buildenv set to supplied value
+	 */
+	public VersionValue withBuildenv (String buildenv) {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @param branch String
+	 * @return new VersionValue with Branch set to supplied value
+	 */
+	public VersionValue withBranch (String branch) {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @param snapshot boolean
+	 * @return new VersionValue with Maven Style Snapshot status set to supplied value
+	 */
+	public VersionValue withSnapshot (boolean snapshot) {
+		return new VersionValue(compiledSchema, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, snapshot);
+	}
+
+	/**
+	 * @param cs CompiledSchema
+	 * @return new VersionValue with the same elements, rendered with supplied schema
+	 */
+	public VersionValue withSchema (CompiledSchema cs) {
+		return new VersionValue(cs, major, minor, patch, nano, year, month, day,
+				modifier, metadata, buildid, buildenv, branch, isSnapshot);
+	}
+
+	/**
+	 * @return compiled schema of this value
+	 */
+	public CompiledSchema getCompiledSchema () {
+		return compiledSchema;
+	}
+
+	/**
+	 * @return schema String as it was supplied, may be an alias such as "semver"
+	 */
+	public String getSchema () {
+		return compiledSchema.getSchema();
+	}
+
+	/**
+	 * @return major element
+	 */
+	public Integer getMajor () {
+		return major;
+	}
+
+	/**
+	 * @return minor element
+	 */
+	public Integer getMinor () {
+		return minor;
+	}
+
+	/**
+	 * @return patch element
+	 */
+	public Integer getPatch () {
+		return patch;
+	}
+
+	/**
+	 * @return nano element
+	 */
+	public Integer getNano () {
+		return nano;
+	}
+
+	/**
+	 * @return year element, as present in version string (i.e. 2 digits for YY schemas)
+	 */
+	public Integer getYear () {
+		return year;
+	}
+
+	/**
+	 * @return month element
+	 */
+	public Integer getMonth () {
+		return month;
+	}
+
+	/**
+	 * @return day element
+	 */
+	public Integer getDay () {
+		return day;
+	}
+
+	/**
+	 * @return modifier
+	 */
+	public String getModifier () {
+		return modifier;
+	}
+
+	/**
+	 * @return metadata
+	 */
+	public String getMetadata () {
+		return metadata;
+	}
+
+	/**
+	 * @return Buildid field
+	 */
+	public String getBuildid () {
+		return buildid;
+	}
+
+	/**
+	 * @return Buildenv field
+	 */
+	public String getBuildenv () {
+		return buildenv;
+	}
+
+	/**
+	 * @return Branch field
+	 */
+	public String getBranch () {
+		return branch;
+	}
+
+	/**
+	 * @return Maven Style Snapshot status
+	 */
+	public boolean isSnapshot () {
+		return isSnapshot;
+	}
+
+	private Version view () {
+		Version v = view;
+		if (null == v) {
+			v = toVersion();
+			view = v;
+		}
+		return v;
+	}
+
+	/**
+	 * This method outputs version string based on own schema and Maven Style Snapshot status
+	 * @return version String
+	 */
+	public String constructVersionString () {
+		return view().constructVersionString();
+	}
+
+	/**
+	 * Returns packed precedence key, same as {@link Version#getSortKey()}
+	 * @return copy of precedence key bytes
+	 */
+	public byte[] getSortKey () {
+		return view().getSortKey();
+	}
+
+	/**
+	 * Compares values same way as {@link Version#compareTo(Version)}, so latest version comes first
+	 * @param other VersionValue
+	 * @return a negative integer, zero, or a positive integer as this value is greater than, equal to, or less than the other one
+	 */
+	@Override
+	public int compareTo (VersionValue other) {
+		return view().compareTo(other.view());
+	}
+
+	/**
+	 * @return version String, same as {@link #constructVersionString()}
+	 */
+	@Override
+	public String toString () {
+		return constructVersionString();
+	}
+
+	@Override
+	public int hashCode () {
+		int h = hash;
+		if (0 == h) {
+			h = Objects.hashCode(major);
+			h = 31 * h + Objects.hashCode(minor);
+			h = 31 * h + Objects.hashCode(patch);
+			h = 31 * h + Objects.hashCode(nano);
+			h = 31 * h + Objects.hashCode(modifier);
+			h = 31 * h + Objects.hashCode(year);
+			h = 31 * h + Objects.hashCode(month);
+			h = 31 * h + Objects.hashCode(day);
+			h = 31 * h + Objects.hashCode(metadata);
+			h = 31 * h + compiledSchema.getSchema().hashCode();
+			h = 31 * h + Objects.hashCode(buildid);
+			h = 31 * h + Objects.hashCode(buildenv);
+			h = 31 * h + Objects.hashCode(branch);
+			h = 31 * h + Boolean.hashCode(isSnapshot);
+			hash = h;
+		}
+		return h;
+	}
+
+	/**
+	 * Values are equal if all their elements, branch, snapshot status and schema strings are equal
+	 * @param other Object
+	 * @return boolean
+	 */
+	@Override
+	public boolean equals (Object other) {
+		if (this == other) return true;
+		if (!(other instanceof VersionValue otherV)) return false;
+		return isSnapshot == otherV.isSnapshot
+				&& Objects.equals(major, otherV.major)
+				&& Objects.equals(minor, otherV.minor)
+				&& Objects.equals(patch, otherV.patch)
+				&& Objects.equals(nano, otherV.nano)
+				&& Objects.equals(year, otherV.year)
+				&& Objects.equals(month, otherV.month)
+				&& Objects.equals(day, otherV.day)
+				&& Objects.equals(modifier, otherV.modifier)
+				&& Objects.equals(metadata, otherV.metadata)
+				&& Objects.equals(buildid, otherV.buildid)
+				&& Objects.equals(buildenv, otherV.buildenv)
+				&& Objects.equals(branch, otherV.branch)
+				&& compiledSchema.getSchema().equals(otherV.compiledSchema.getSchema());
+	}
+}
@@ -2,6 +2,7 @@ package io.reliza.changelog;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -72,6 +73,78 @@ class CommitParserUtilTest {
 		assertTrue(commit.isBreakingChange());
 	}
 	
+	@Test
+	void testParseRawCommit_FooterTrailerClassification() {
+		String rawCommit = "fix(core): simple commit message" + LS + LS + "body line" + LS + "key:no space is body" + LS + LS
+				+ "Reviewed-by: Z" + LS + LS + "Refs #133" + LS + "BREAKING CHANGE: drops old api";
+		ConventionalCommit commit = CommitParserUtil.parseRawCommit(rawCommit);
+		assertEquals("body line" + LS + "key:no space is body" + LS, commit.getRawBody());
+		assertEquals("Reviewed-by: Z" + LS + "Refs #133" + LS + "BREAKING CHANGE: drops old api" + LS, commit.getFooter());
+		assertTrue(commit.isBreakingChange());
+		assertEquals(CommitLineClassifier.LineKind.TRAILER, CommitLineClassifier.classify("BREAKING-CHANGE: x"));
+		assertEquals(CommitLineClassifier.LineKind.BREAKING_CHANGE, CommitLineClassifier.classify("BREAKING CHANGE: x"));
+		assertEquals(CommitLineClassifier.LineKind.BODY, CommitLineClassifier.classify("two words: x"));
+		assertEquals(CommitLineClassifier.LineKind.BODY, CommitLineClassifier.classify("Refs: x\r"));
+		assertThrows(IllegalArgumentException.class, () -> CommitParserUtil.parseRawCommit(
+				"fix: message" + LS + LS + "Refs: 1" + LS + "not a trailer"));
+	}
+	
+	@Test
+	void testCommitClassifier_TypeAndBreakingChange() {
+		CommitClassifier.Classification classification = CommitClassifier.classify(
+				"Perf(db): faster" + LS + LS + "body" + LS + LS + "BREAKING-CHANGE: new index");
+		assertEquals(CommitType.PERFORMANCE, classification.type().builtIn());
+		assertTrue(classification.breakingChange());
+		assertFalse(CommitClassifier.classify("docs: readme").breakingChange());
+		assertEquals(null, CommitClassifier.classify("fix: x" + LS + "second line"));
+		assertEquals(null, CommitClassifier.classify("bogus: type"));
+	}
+	
+	@Test
+	void testParseRawCommit_LazyBodyAndFooterMatchEagerCommit() {
+		String rawCommit = "feat(api): new endpoint" + LS + LS + "first line" + LS + LS + "second BREAKING CHANGE line" + LS + LS
+				+ LS + "Refs: #12" + LS + LS + "BREAKING-CHANGE: old endpoint removed" + LS;
+		ConventionalCommit lazy = CommitParserUtil.parseRawCommit(rawCommit);
+		assertTrue(lazy.isBreakingChange());
+		assertEquals(CommitType.FEAT, lazy.getType());
+		ConventionalCommit eager = new ConventionalCommit(new CommitMessage("feat(api): new endpoint"),
+				new CommitBody(new String[] {"first line", "", "second BREAKING CHANGE line"}),
+				new CommitFooter("Refs: #12" + LS + "BREAKING-CHANGE: old endpoint removed" + LS));
+		assertEquals(eager.getRawBody(), lazy.getRawBody());
+		assertEquals(eager.getBody(), lazy.getBody());
+		assertEquals(eager.getFooter(), lazy.getFooter());
+		assertEquals("old endpoint removed", lazy.getBreakingChangeDescription());
+		assertEquals(eager.toString(), lazy.toString());
+		ConventionalCommit headerOnly = CommitParserUtil.parseRawCommit("fix: x");
+		assertEquals("", headerOnly.getRawBody());
+		assertEquals("", headerOnly.getFooter());
+		assertEquals("", headerOnly.getBreakingChangeDescription());
+	}
+	
+	@Test
+	void testTryParseRawCommit_ReportsReasonAndLine() {
+		assertTrue(CommitParserUtil.tryParseRawCommit("fix: x" + LS + LS + "body" + LS + LS + "Refs: 1").isSuccess());
+		assertEquals("x", CommitParserUtil.tryParseRawCommit("fix: x").commit().getMessage());
+		String[] messages = {null, "fix: x" + LS + "y", "fix: x" + LS + "y" + LS + "z", "fix: x" + LS + LS + "body" + LS + "Refs: 1",
+				"fix: x" + LS + LS + "Refs: 1" + LS + LS + "body", "bogus: x", "bogus: x" + LS + "y"};
+		CommitParseResult.Reason[] reasons = {CommitParseResult.Reason.EMPTY_MESSAGE, CommitParseResult.Reason.TWO_LINE_MESSAGE,
+				CommitParseResult.Reason.MISSING_BLANK_LINE_AFTER_HEADER, CommitParseResult.Reason.MISSING_BLANK_LINE_BEFORE_FOOTER,
+				CommitParseResult.Reason.INVALID_FOOTER_LINE, CommitParseResult.Reason.INVALID_HEADER,
+				CommitParseResult.Reason.TWO_LINE_MESSAGE};
+		int[] lineNumbers = {0, 2, 2, 4, 5, 1, 2};
+		for (int i = 0; i < messages.length; i++) {
+			CommitParseResult result = CommitParserUtil.tryParseRawCommit(messages[i]);
+			assertFalse(result.isSuccess());
+			assertEquals(null, result.commit());
+			assertEquals(reasons[i], result.reason());
+			assertEquals(lineNumbers[i], result.lineNumber());
+			String message = messages[i];
+			IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+					() -> CommitParserUtil.parseRawCommit(message));
+			assertEquals(reasons[i].getMessage(), iae.getMessage());
+		}
+	}
+	
 	@Test
 	void testParseRawCommitRegex_1() {
 		String rawCommit = "fix: simple commit message"+LS+LS+"body"+LS+LS+"Footer: 1"+LS+"BREAKING CHANGE: 2";
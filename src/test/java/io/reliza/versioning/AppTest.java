@@ -11,18 +11,30 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import io.reliza.versioning.Version.MismatchReason;
 import io.reliza.versioning.Version.ModifierPolicy;
+import io.reliza.versioning.Version.ParseResult;
 import io.reliza.versioning.Version.VersionHelper;
 import io.reliza.versioning.Version.VersionStringComparator;
 import io.reliza.versioning.VersionApi.ActionEnum;
@@ -548,6 +560,182 @@ public class AppTest
     	Collections.sort(vList, new VersionStringComparator(schema));
     	assertTrue(version1.equals(vList.get(0)));
     }
+    
+    @Test
+    public void versionSorterMatchesComparator() {
+    	List<String> vList = List.of("1.2.3", "not-a-version", "1.10.0", "2.0.0-rc1", "1.2.3", "0.9.9+build1",
+    			"x.y.z", "2.0.0");
+    	String schema = VersionType.SEMVER.getSchema();
+    	List<String> expected = new ArrayList<>(vList);
+    	Collections.sort(expected, new VersionStringComparator(schema));
+    	assertEquals(expected, VersionSorter.sort(vList, schema));
+    	assertEquals(expected, vList.stream().collect(VersionSorter.toSortedList(schema)));
+    	assertEquals("not-a-version", VersionSorter.sort(vList, schema).get(6));
+    }
+    
+    @Test
+    public void sortKeyOrderMatchesCompareTo() {
+    	String schema = VersionType.SEMVER.getSchema();
+    	List<Version> versions = new ArrayList<>();
+    	for (String vs : List.of("0.0.1", "1.2.3", "1.10.0", "2.0.0", "10.0.0", "1.2.3-rc1", "2147483647.0.0")) {
+    		versions.add(Version.getVersion(vs, schema));
+    	}
+    	for (Version v1 : versions) {
+    		for (Version v2 : versions) {
+    			assertEquals(Integer.signum(v1.compareTo(v2)),
+    					-Integer.signum(Arrays.compareUnsigned(v1.getSortKey(), v2.getSortKey())));
+    		}
+    	}
+    	Version v = Version.getVersion("1.2.3", schema);
+    	byte[] keyBefore = v.getSortKey();
+    	v.bumpMinor(null);
+    	assertTrue(Arrays.compareUnsigned(keyBefore, v.getSortKey()) < 0);
+    	assertTrue(v.compareTo(Version.getVersion("1.2.9", schema)) < 0);
+    }
+    
+    @Test
+    public void versionEqualsComparesFields() {
+    	String schema = VersionType.SEMVER.getSchema();
+    	Version v1 = Version.getVersion("1.23.0", schema);
+    	Version v2 = Version.getVersion("12.3.0", schema);
+    	assertFalse(v1.equals(v2));
+    	Version v3 = Version.getVersion("1.23.0", schema);
+    	assertEquals(v1, v3);
+    	assertEquals(v1.hashCode(), v3.hashCode());
+    	Set<Version> versionSet = new HashSet<>(List.of(v1, v2, v3));
+    	assertEquals(2, versionSet.size());
+    	v3.setModifier("rc1");
+    	assertFalse(v1.equals(v3));
+    	assertFalse(versionSet.contains(v3));
+    }
+    
+    @Test
+    public void appendVersionStringMatchesConstruct() {
+    	Version v = Version.getVersion("1.2.3-rc1+build5", VersionType.SEMVER.getSchema());
+    	StringBuilder sb = new StringBuilder("v=");
+    	v.appendVersionString(sb);
+    	assertEquals("v=1.2.3-rc1+build5", sb.toString());
+    	v.setModifier(null);
+    	v.setMetadata(null);
+    	assertEquals("1.2.3", v.appendVersionString(new StringBuilder()).toString());
+    	Version calver = Version.getVersion("2020.05.Stable.3", VersionType.CALVER_RELIZA.getSchema());
+    	assertEquals(calver.constructVersionString("YY.0M.Micro", true),
+    			calver.appendVersionString(new StringBuilder(), VersionSchema.compile("YY.0M.Micro"), true).toString());
+    }
+
+    @Test
+    public void renderRetractsSeparatorsOfAbsentOptionalElements() {
+    	Version v = Version.getVersion("Branch-Modifier?+Metadata?");
+    	v.setBranch("feat-");
+    	assertEquals("feat", v.constructVersionString());
+    	v.setMetadata("b1");
+    	assertEquals("feat-b1", v.constructVersionString());
+    	Version noSeparator = Version.getVersion("Major:Minor:Patch");
+    	RuntimeException re = Assertions.assertThrows(RuntimeException.class,
+    			() -> noSeparator.constructVersionString());
+    	assertEquals("The schema Major:Minor:Patch has no separator after element 1", re.getMessage());
+    }
+    
+    @Test
+    public void writeToAppendableAndByteBuffer() throws IOException {
+    	Version v = Version.getVersion("2020.05.Stable.3", VersionType.CALVER_RELIZA.getSchema());
+    	StringWriter sw = new StringWriter();
+    	v.writeTo(sw);
+    	assertEquals(v.constructVersionString(), sw.toString());
+    	ByteBuffer buffer = ByteBuffer.allocate(64);
+    	buffer.put((byte) '[');
+    	int written = v.writeTo(buffer);
+    	assertEquals(v.constructVersionString().length(), written);
+    	assertEquals("[" + v.constructVersionString(),
+    			new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+    	ByteBuffer small = ByteBuffer.allocate(4);
+    	Assertions.assertThrows(BufferOverflowException.class, () -> v.writeTo(small));
+    	assertEquals(0, small.position());
+    }
+
+    @Test
+    public void versionValueDerivesNewInstances() {
+    	Version v = Version.getVersion("1.2.3-rc1+build5", "semver");
+    	VersionValue value = v.toValue();
+    	v.bumpMinor(null);
+    	assertEquals("1.2.3-rc1+build5", value.constructVersionString());
+    	VersionValue major = value.bumped(ActionEnum.BUMP_MAJOR);
+    	assertEquals("2.0.0-rc1+build5", major.constructVersionString());
+    	assertEquals("1.2.3-rc1+build5", value.toString());
+    	assertEquals("1.7.3", value.withMinor(7).withModifier(null).withMetadata(null).constructVersionString());
+    	assertEquals(value, Version.getVersion("1.2.3-rc1+build5", "semver").toValue());
+    	assertEquals(value.hashCode(), Version.getVersion("1.2.3-rc1+build5", "semver").toValue().hashCode());
+    	assertFalse(value.equals(value.withBranch("main")));
+    	assertTrue(value.compareTo(major) > 0);
+    	Version roundTrip = major.toVersion();
+    	assertEquals(major.constructVersionString(), roundTrip.constructVersionString());
+    	roundTrip.bumpPatch(null);
+    	assertEquals("2.0.0-rc1+build5", major.constructVersionString());
+    }
+
+    @Test
+    public void calverDateIsTakenFromSuppliedClock() {
+    	Clock clock = Clock.fixed(Instant.parse("2031-03-04T23:59:59Z"), ZoneId.of("Europe/Berlin"));
+    	CompiledSchema cs = VersionSchema.compile("YYYY.0M.0D.Micro");
+    	assertEquals("2031.03.04.0", Version.getVersion(cs, clock).constructVersionString());
+    	assertEquals("2031.03.04.0", Version.getVersionFromPinAndOldVersion(cs, "YYYY.0M.0D.Micro", "2031.02.27.5",
+    			ActionEnum.BUMP, null, ModifierPolicy.INHERIT, clock).constructVersionString());
+    	assertEquals("2031.03.04.0", VersionApi.bumpAll(List.of(new VersionApi.BumpRequest("YYYY.0M.0D.Micro",
+    			"YYYY.0M.0D.Micro", "2030.12.31.1", ActionEnum.BUMP)), null, clock).get(0).version().constructVersionString());
+    	Version v = Version.getVersion("2030.01.01.7", cs);
+    	VersionApi.applyActionOnVersion(v, ActionEnum.BUMP_DATE, clock);
+    	assertEquals("2031.03.04.7", v.constructVersionString());
+    	assertEquals("2031.03.04.7", Version.getVersion("2030.01.01.7", cs).toValue()
+    			.bumped(ActionEnum.BUMP_DATE, clock).constructVersionString());
+    }
+
+    @Test
+    public void versionInternerSharesValues() {
+    	VersionInterner interner = new VersionInterner(2);
+    	String schema = VersionType.CALVER_RELIZA.getSchema();
+    	VersionValue first = interner.intern("2024.05.Stable.3", schema);
+    	assertTrue(first == interner.intern("2024.05.Stable.3", schema));
+    	assertTrue(first == interner.tryIntern("2024.05.Stable.3", schema).get());
+    	assertTrue(interner.tryIntern("1.2.3", schema).isEmpty());
+    	Assertions.assertThrows(RuntimeException.class, () -> interner.intern("1.2.3", schema));
+    	interner.intern("2024.05.Stable.4", schema);
+    	interner.intern("2024.05.Stable.5", schema);
+    	assertTrue(first != interner.intern("2024.05.Stable.3", schema));
+    	VersionSchema.CacheStats stats = interner.getStats();
+    	assertEquals(2, stats.hitCount());
+    	assertEquals(6, stats.missCount());
+    	assertEquals(2, stats.size());
+    	assertEquals(2, stats.evictionCount());
+    	assertEquals(0.25, stats.hitRatio());
+    }
+
+    @Test
+    public void versionInternerStaysBoundedUnderConcurrency() {
+    	VersionInterner interner = new VersionInterner(64);
+    	CompiledSchema cs = VersionSchema.compile("semver");
+    	List<String> versions = new ArrayList<>();
+    	for (int i = 0; i < 1000; i++) versions.add("1." + (i % 200) + ".0");
+    	versions.parallelStream().forEach(v -> {
+    		assertEquals(v, interner.intern(v, cs).constructVersionString());
+    		interner.intern("1.0.0", cs);
+    	});
+    	VersionSchema.CacheStats stats = interner.getStats();
+    	assertTrue(stats.size() <= 64 + Runtime.getRuntime().availableProcessors());
+    	assertEquals(2000, stats.hitCount() + stats.missCount());
+    	assertTrue(stats.evictionCount() > 0);
+    }
+
+    @Test
+    public void tryParseReturnsVersionOrReason() {
+    	ParseResult pr = Version.tryParse("1.2.3-rc.1+build5", "semver");
+    	assertTrue(pr.isMatching());
+    	assertNull(pr.mismatchReason());
+    	assertEquals("1.2.3-rc.1+build5", pr.version().constructVersionString());
+    	assertEquals(MismatchReason.SCHEMA_MISMATCH, Version.tryParse("1.2", "semver").mismatchReason());
+    	assertEquals(MismatchReason.NULL_VERSION, Version.tryParse(null, "semver").mismatchReason());
+    	assertEquals(MismatchReason.NOT_CONSTRUCTIBLE, Version.tryParse("1.2.99999999999", "semver").mismatchReason());
+    	assertTrue(Version.tryParse("2020.13.1", VersionType.CALVER_UBUNTU.getSchema()).toOptional().isEmpty());
+    }
 
     @Test
     public void versionWithBranchGeneration() {
@@ -1,14 +1,34 @@
 package io.reliza.versioning;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import io.reliza.changelog.CommitClassifier;
+import io.reliza.changelog.CommitClassifier.Classification;
+import io.reliza.changelog.CommitParserUtil;
+import io.reliza.changelog.CommitType;
+import io.reliza.changelog.CommitTypes;
+import io.reliza.changelog.ConventionalCommit;
+import io.reliza.versioning.ChangelogAggregator.Summary;
 import io.reliza.versioning.VersionApi.ActionEnum;
+import io.reliza.versioning.VersionApi.BumpRequest;
+import io.reliza.versioning.VersionApi.BumpResult;
 import io.reliza.versioning.VersionApi.VersionApiObject;
+import io.reliza.versioning.VersionSorter.LatestResult;
+import io.reliza.versioning.VersionSorter.SortResult;
 
 class VersionApiTest {
 	private static final String LS = System.lineSeparator();
@@ -194,4 +214,176 @@ class VersionApiTest {
 	public void testNullInput() {
 		assertThrows(NullPointerException.class, () -> VersionApi.applyActionOnVersion(null, ActionEnum.BUMP_MAJOR));
 	}
+	
+	@Test
+	public void testBumpAll_MatchesSingleBumpsInInputOrder() {
+		List<BumpRequest> requests = new ArrayList<>();
+		ActionEnum[] actions = {ActionEnum.BUMP, ActionEnum.BUMP_PATCH, ActionEnum.BUMP_MINOR, ActionEnum.BUMP_MAJOR};
+		for (int i = 0; i < 300; i++) {
+			requests.add(new BumpRequest("semver", "1.Minor.Patch", "1." + (i % 7) + "." + i, actions[i % 4]));
+			requests.add(new BumpRequest("Major.Minor.Patch-Modifier?", "semver", "3." + i + ".1-rc" + (i % 3),
+					actions[i % 4], "rc", null));
+		}
+		requests.add(new BumpRequest("semver", "2.Minor.Patch", "1.0.0", ActionEnum.BUMP));
+		requests.add(new BumpRequest("semver", "Major.Minor.Patch", "not-a-version", ActionEnum.BUMP));
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<BumpResult> sequential = VersionApi.bumpAll(requests);
+			List<BumpResult> parallel = VersionApi.bumpAll(requests, pool);
+			assertEquals(requests.size(), sequential.size());
+			for (int i = 0; i < requests.size(); i++) {
+				BumpRequest br = requests.get(i);
+				assertTrue(br == sequential.get(i).request());
+				assertTrue(br == parallel.get(i).request());
+				String expected;
+				try {
+					expected = Version.getVersionFromPinAndOldVersion(br.schema(), br.pin(), br.oldVersion(), br.action(),
+							br.namespace()).constructVersionString();
+				} catch (RuntimeException re) {
+					assertFalse(sequential.get(i).isSuccess());
+					assertFalse(parallel.get(i).isSuccess());
+					assertEquals(re.getMessage(), sequential.get(i).error().getMessage());
+					continue;
+				}
+				assertEquals(expected, sequential.get(i).version().constructVersionString());
+				assertEquals(expected, parallel.get(i).version().constructVersionString());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testBumpAll_WithoutPoolStaysSequentialOnPoolThread() throws Exception {
+		List<BumpRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			requests.add(new BumpRequest("semver", "1.Minor.Patch", "1.2." + i, ActionEnum.BUMP));
+		}
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<BumpResult> results = pool.submit(() -> VersionApi.bumpAll(requests, null)).get();
+			assertEquals("1.2." + 1000, results.get(999).version().constructVersionString());
+			// only the submitted task itself may be taken by a worker, batch must not fork into the caller's pool
+			assertTrue(pool.getStealCount() <= 1);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testSortParallelAndLatest_MatchSequentialSort() {
+		List<String> versions = new ArrayList<>();
+		// above parallel sort threshold, with duplicates and non-matching strings spread through the list
+		for (int i = 0; i < 20000; i++) {
+			versions.add((i % 13) + "." + (i % 101) + "." + (i % 7));
+			if (i % 997 == 0) versions.add("bad-" + i);
+		}
+		versions.add("12.100.6-rc1");
+		List<String> expected = VersionSorter.sort(versions, "semver");
+		SortResult sr = VersionApi.sortParallel(versions, "semver");
+		List<String> actual = new ArrayList<>(sr.sorted());
+		actual.addAll(sr.nonMatching());
+		assertEquals(expected, actual);
+		assertEquals(21, sr.nonMatching().size());
+		LatestResult lr = VersionApi.latest(versions, "semver");
+		assertEquals(expected.get(0), lr.latest().get());
+		assertEquals(sr.nonMatching(), lr.nonMatching());
+		assertFalse(VersionApi.latest(List.of("x", "y"), "semver").latest().isPresent());
+	}
+
+	@Test
+	public void testChangelogAggregator_FoldsGitLogStream() throws IOException {
+		StringBuilder log = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			log.append("fix(core): fix number " + i + "\n\0");
+			log.append("Merge branch 'main'\n\0");
+		}
+		log.append("feat: new api\n\nbody text\n\0");
+		log.append("docs: readme\n\0");
+		String stream = log.toString();
+		Summary summary = new ChangelogAggregator(false, 10).aggregate(
+				new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)));
+		assertEquals(ActionEnum.BUMP_MINOR, summary.action());
+		assertEquals(10002, summary.commitCount());
+		assertEquals(5000, summary.skippedCount());
+		assertEquals(5000L, summary.counts().get(CommitTypes.of(CommitType.BUG_FIX)).longValue());
+		assertEquals(10, summary.entries().get(CommitTypes.of(CommitType.BUG_FIX)).size());
+		assertEquals("fix number 0", summary.entries().get(CommitTypes.of(CommitType.BUG_FIX)).get(0).message());
+		assertEquals("new api", summary.entries().get(CommitTypes.of(CommitType.FEAT)).get(0).message());
+		assertTrue(summary.complete());
+
+		String withBreaking = "fix: one\n\0feat!: breaking api\n\0" + stream;
+		Summary early = new ChangelogAggregator(true, 10).aggregate(new StringReader(withBreaking));
+		assertEquals(ActionEnum.BUMP_MAJOR, early.action());
+		assertEquals(2, early.commitCount());
+		assertFalse(early.complete());
+		Summary full = new ChangelogAggregator().aggregate(new StringReader(withBreaking));
+		assertEquals(ActionEnum.BUMP_MAJOR, full.action());
+		assertEquals(10004, full.commitCount());
+		assertTrue(full.entries().get(CommitTypes.of(CommitType.FEAT)).get(0).breakingChange());
+	}
+
+	private static ActionEnum classify(CharSequence commit) {
+		Classification classification = CommitClassifier.classify(commit);
+		return (null == classification) ? null
+				: VersionApi.getActionFromCommitType(classification.type(), classification.breakingChange());
+	}
+
+	@Test
+	public void testCommitClassifier_MatchesParsedCommitAction() {
+		String[] commits = {"fix: simple", "feat(api): add", "Refactor: move", "docs!: drop old docs", "chore: x" + LS + LS
+				+ "body with BREAKING CHANGE mention", "perf: y" + LS + LS + "body" + LS + LS + "BREAKING-CHANGE: z",
+				"feat: a" + LS + LS + "Refs: #1" + LS + "Reviewed-by: b", "fixture: matches fix prefix"};
+		for (String commit : commits) {
+			assertEquals(VersionApi.getActionFromConventionalCommit(
+					CommitParserUtil.parseRawCommit(commit)), classify(commit));
+		}
+		assertEquals(ActionEnum.BUMP_MAJOR, classify("docs!: drop old docs"));
+		assertEquals(ActionEnum.BUMP_MAJOR, classify(new StringBuilder("chore: x\n\nBREAKING CHANGE: y")));
+		String[] invalid = {null, " ", "bogus: type", "fix:no space", "fix: x" + LS + "second line", "fix: x" + LS + "body" + LS + "z",
+				"fix: x" + LS + LS + "Refs: 1" + LS + "not a trailer"};
+		for (String commit : invalid) {
+			assertEquals(null, CommitClassifier.classify(commit));
+			assertThrows(IllegalArgumentException.class, () -> VersionApi.getActionFromRawCommit(commit));
+		}
+	}
+
+	@Test
+	public void testCustomCommitTypes_RegisteredInTrie() throws IOException {
+		CommitTypes.register("sec", "Security", 11, CommitTypes.Bump.PATCH);
+		CommitTypes.register("Release", "Releases", 12, CommitTypes.Bump.NONE);
+		CommitTypes.register("fixup", "Fixups", 13, CommitTypes.Bump.MINOR);
+		try {
+			assertEquals(ActionEnum.BUMP_PATCH, VersionApi.getActionFromRawCommit("SEC(auth): rotate keys"));
+			assertEquals(ActionEnum.BUMP_MINOR, classify("fixup: squash later"));
+			assertEquals(ActionEnum.BUMP_PATCH, classify("fix(up): scope, not fixup type"));
+			// valid commit which does not bump is told apart from invalid one
+			assertEquals(CommitTypes.Bump.NONE, CommitClassifier.classify("release: 1.2.0").type().bump());
+			assertEquals(null, VersionApi.getActionFromRawCommit("release: 1.2.0"));
+			assertThrows(IllegalArgumentException.class, () -> VersionApi.getActionFromRawCommit("release: 1.2.0" + LS + "x"));
+			assertEquals(ActionEnum.BUMP_MAJOR, classify("release!: drop java 17"));
+			ConventionalCommit commit = CommitParserUtil.parseRawCommit("fixup(core): tidy");
+			assertEquals(null, commit.getType());
+			assertEquals("fixup", commit.getTypeDefinition().prefix());
+			assertEquals("core", commit.getScope());
+			assertTrue(CommitParserUtil.isConventionalCommit("sec(deps): bump lib"));
+			// "fixture" is not a type, so it still matches "fix" followed by "ture" as in earlier versions
+			assertEquals(CommitType.BUG_FIX, CommitParserUtil.parseRawCommit("fixture: x").getType());
+			assertEquals("Security", CommitTypes.of("SEC").get().fullName());
+
+			Summary summary = new ChangelogAggregator().aggregate(new StringReader("sec: a\0feat: b\0sec: c\0release: d"));
+			assertEquals(ActionEnum.BUMP_MINOR, summary.action());
+			assertEquals(List.of("feat", "sec", "release"),
+					summary.counts().keySet().stream().map(CommitTypes.Definition::prefix).toList());
+			assertEquals(2L, summary.counts().get(CommitTypes.of("sec").get()).longValue());
+			assertThrows(IllegalArgumentException.class, () -> CommitTypes.register("feat", "Features", 0, CommitTypes.Bump.MAJOR));
+			assertThrows(IllegalArgumentException.class, () -> CommitTypes.register("bad type", "Bad", 0, CommitTypes.Bump.PATCH));
+		} finally {
+			CommitTypes.unregister("sec");
+			CommitTypes.unregister("release");
+			CommitTypes.unregister("fixup");
+		}
+		assertFalse(CommitTypes.of("sec").isPresent());
+		assertThrows(IllegalArgumentException.class, () -> VersionApi.getActionFromRawCommit("sec: a"));
+	}
 }
@@ -2,8 +2,16 @@ package io.reliza.versioning;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -55,6 +63,99 @@ class VersionCliTest {
 		assertTrue(outContent.toString().contains("Commit message does not meet conventional commit specification."));
 	}
 	
+	@Test
+	void testBatchWritesResultPerLineInOrder() throws IOException {
+		String input = String.join("\n",
+				"{\"id\": \"a\", \"version\": \"1.2.3\", \"action\": \"bumpminor\"}",
+				"",
+				"{\"schema\": \"semver\", \"version\": \"1.2.3\", \"commit\": \"feat!: \\\"quoted\\\" change\"}",
+				"{\"version\": \"not a version\"}",
+				"not json",
+				"{\"version\": \"1.2.3\", \"action\": \"unknown\", \"snapshot\": true, \"modifier\": null}",
+				"{\"schema\": \"YYYY.0M.Micro\", \"version\": \"2020.01.5\", \"action\": \"bumppatch\"}");
+		StringWriter out = new StringWriter();
+		int errors = VersionCli.runBatch(new BufferedReader(new StringReader(input)), out, "semver");
+		String[] results = out.toString().split("\n");
+		assertEquals(2, errors);
+		assertEquals(6, results.length);
+		assertEquals("{\"line\":1,\"id\":\"a\",\"version\":\"1.3.0\"}", results[0]);
+		assertEquals("{\"line\":3,\"version\":\"2.0.0\"}", results[1]);
+		assertTrue(results[2].startsWith("{\"line\":4,\"error\":\"Cannot construct Version object"));
+		assertTrue(results[3].startsWith("{\"line\":5,\"error\":\"Invalid JSON at position 0"));
+		assertEquals("{\"line\":6,\"version\":\"1.2.3-SNAPSHOT\",\"warnings\":[\"WARN: action is null, version will not be mutated\"]}",
+				results[4]);
+		assertEquals("{\"line\":7,\"version\":\"2020.01.6\"}", results[5]);
+	}
+	
+	@Test
+	void testBatchReportsInvalidUnicodeEscape() throws IOException {
+		String input = String.join("\n",
+				"{\"version\": \"1.2.3\", \"action\": \"bumppatch\", \"id\": \"\\u0041\"}",
+				"{\"version\": \"1.2.3\", \"id\": \"\\u+041\"}",
+				"{\"version\": \"1.2.3\", \"id\": \"\\u00g1\"}");
+		StringWriter out = new StringWriter();
+		int errors = VersionCli.runBatch(new BufferedReader(new StringReader(input)), out, "semver");
+		String[] results = out.toString().split("\n");
+		assertEquals(2, errors);
+		assertEquals("{\"line\":1,\"id\":\"A\",\"version\":\"1.2.4\"}", results[0]);
+		assertTrue(results[1].startsWith("{\"line\":2,\"error\":\"Invalid JSON at position"), results[1]);
+		assertTrue(results[1].endsWith("invalid unicode escape\"}"), results[1]);
+		assertTrue(results[2].endsWith("invalid unicode escape\"}"), results[2]);
+	}
+	
+	@Test
+	void testBatchEchoesIdWithItsJsonType() throws IOException {
+		String input = String.join("\n",
+				"{\"id\": 7, \"version\": \"1.2.3\", \"action\": \"bumppatch\"}",
+				"{\"id\": \"7\", \"version\": \"1.2.3\", \"action\": \"bumppatch\"}",
+				"{\"id\": true, \"version\": \"x\"}");
+		StringWriter out = new StringWriter();
+		VersionCli.runBatch(new BufferedReader(new StringReader(input)), out, "semver");
+		String[] results = out.toString().split("\n");
+		assertEquals("{\"line\":1,\"id\":7,\"version\":\"1.2.4\"}", results[0]);
+		assertEquals("{\"line\":2,\"id\":\"7\",\"version\":\"1.2.4\"}", results[1]);
+		assertTrue(results[2].startsWith("{\"line\":3,\"id\":true,\"error\":"), results[2]);
+	}
+	
+	@Test
+	void testServeEndpoints() throws IOException, InterruptedException {
+		VersionServer server = new VersionServer(0, 2, 4);
+		server.start();
+		try {
+			HttpClient client = HttpClient.newHttpClient();
+			assertEquals("{\"version\":\"1.3.0\"}", post(client, server, "/bump?schema=semver",
+					"{\"version\": \"1.2.3\", \"action\": \"bumpminor\"}", 200));
+			assertEquals("{\"valid\":false,\"reason\":\"SCHEMA_MISMATCH\"}",
+					post(client, server, "/validate?schema=semver&version=1.2", "", 200));
+			assertEquals("{\"valid\":true}", post(client, server, "/validate?schema=semver&version=1.2.3&pin=1.2.Patch", "", 200));
+			assertEquals("{\"comparison\":-1}", post(client, server, "/compare?schema=semver&version1=1.2.3&version2=1.10.0", "", 200));
+			assertEquals("{\"versions\":[\"1.10.0\",\"1.2.3\",\"junk\"]}",
+					post(client, server, "/sort?schema=semver", "1.2.3\njunk\n1.10.0\n", 200));
+			assertEquals("{\"action\":\"bumpmajor\"}", post(client, server, "/action", "feat!: drop api", 200));
+			assertTrue(post(client, server, "/compare?schema=semver&version1=1.2&version2=1.0.0", "", 400).contains("error"));
+			assertEquals(404, send(client, server, "/unknown", "").statusCode());
+			String stats = post(client, server, "/stats", "", 200);
+			assertTrue(stats.contains("\"bump.count\":1,\"bump.errors\":0"));
+			assertTrue(stats.contains("\"compare.count\":2,\"compare.errors\":1"));
+		} finally {
+			server.stop();
+		}
+	}
+	
+	private static HttpResponse<String> send(HttpClient client, VersionServer server, String path, String body)
+			throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(server.getBaseUrl() + path))
+				.POST(HttpRequest.BodyPublishers.ofString(body)).build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+	
+	private static String post(HttpClient client, VersionServer server, String path, String body, int expectedStatus)
+			throws IOException, InterruptedException {
+		HttpResponse<String> response = send(client, server, path, body);
+		assertEquals(expectedStatus, response.statusCode(), response.body());
+		return response.body().strip();
+	}
+	
 	// Setup //
 
 	@BeforeEach
@@ -2,17 +2,24 @@ package io.reliza.versioning;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
 import io.reliza.versioning.Version.VersionHelper;
+import io.reliza.versioning.Version.VersionComponent;
 import io.reliza.versioning.VersionApi.ActionEnum;
 import io.reliza.versioning.VersionApi.VersionApiObject;
 import io.reliza.versioning.VersionElement.ParsedVersionElement;
+import io.reliza.versioning.VersionValidationService.ValidationRequest;
+import io.reliza.versioning.VersionValidationService.ValidationResult;
 
 class VersionUtilsTest {
 
@@ -238,4 +245,118 @@ class VersionUtilsTest {
 		String version = "1.0.0-rc.1+build.1%";
 		assertFalse(VersionUtils.isVersionSemver(version));
 	}
+	
+	@Test
+	void testCompiledSchema_SemverAlias() {
+		CompiledSchema cs = VersionSchema.compile("semver");
+		assertTrue(cs.isAlias());
+		assertEquals(VersionType.SEMVER.getSchema(), cs.getResolvedSchema());
+		assertTrue(cs.isSemver());
+		assertFalse(cs.isCalver());
+		assertTrue(cs.hasModifier());
+		assertTrue(cs.hasMetadata());
+		assertFalse(cs.hasBranch());
+		assertEquals(VersionUtils.parseSchema("semver"), cs.getElements());
+	}
+	
+	@Test
+	void testCompiledSchema_CalverBranch() {
+		CompiledSchema cs = VersionSchema.compile(VersionType.FEATURE_BRANCH_CALVER.getSchema());
+		assertFalse(cs.isAlias());
+		assertTrue(cs.isCalver());
+		assertTrue(cs.hasBranch());
+		assertFalse(cs.isSemver());
+		assertEquals(List.of(".", ".", "."), cs.getSeparators());
+	}
+	
+	@Test
+	void testCompiledSchema_MatchesStringApi() {
+		CompiledSchema cs = VersionSchema.compile("Branch.Micro");
+		String version = "dependabot/npm_and_yarn/vue/cli-plugin-babel-4.5.13.0";
+		assertTrue(VersionUtils.isVersionMatchingSchema(cs, version));
+		assertEquals(VersionUtils.parseVersion(version, "Branch.Micro", false).get().getVersionComponents(),
+				VersionUtils.parseVersion(version, cs, false).get().getVersionComponents());
+		Version v = Version.getVersionFromPinAndOldVersion(cs, "Branch.Micro", version, ActionEnum.BUMP);
+		assertEquals("dependabot/npm_and_yarn/vue/cli-plugin-babel-4.5.13.1", v.constructVersionString());
+	}
+	
+	@Test
+	void testCompiledSchema_InvalidSchemaThrows() {
+		assertThrows(RuntimeException.class, () -> VersionSchema.compile("Major.Bogus"));
+	}
+
+	@Test
+	void testSchemaCache_ReturnsSharedInstance() {
+		String schema = "YYYY.0M.Minor.Micro-Branch";
+		CompiledSchema cs1 = VersionSchema.compile(schema);
+		long hitsBefore = VersionSchema.getCacheStats().hitCount();
+		CompiledSchema cs2 = VersionSchema.compile(schema);
+		assertSame(cs1, cs2);
+		assertTrue(VersionSchema.getCacheStats().hitCount() > hitsBefore);
+		assertSame(VersionSchema.compile("semver").resolved(), VersionSchema.compile(VersionType.SEMVER.getSchema()));
+	}
+
+	@Test
+	void testParseVersion_BranchSpanningSeparators() {
+		List<VersionComponent> vcs = VersionUtils.parseVersion("113.2020.9.1.feat.1879",
+				"Branch.Branch.Micro", false).get().getVersionComponents();
+		assertEquals("113", vcs.get(0).representation());
+		assertEquals("2020.9.1.feat", vcs.get(1).representation());
+		assertEquals("1879", vcs.get(2).representation());
+		vcs = VersionUtils.parseVersion("214.186..8.5", "Major.Branch.Minor.Micro", false).get().getVersionComponents();
+		assertEquals("186.", vcs.get(1).representation());
+		assertEquals("8", vcs.get(2).representation());
+		assertTrue(VersionUtils.parseVersion("1.2..3", "Major.Minor.Patch", false).isEmpty());
+	}
+
+	@Test
+	void testVersionElementMatches_ConsistentWithRegex() {
+		String[] samples = {"", "0", "7", "00", "01", "09", "10", "12", "13", "29", "30", "31", "32", "99", "100",
+				"999", "0999", "1999", "2024", "3000", "202400", "202401", "202412", "202413", "24013", "0105",
+				"rc1", "Stable", "feature/x-y_z:1.2", "a b", "1+2", "-"};
+		for (VersionElement ve : VersionElement.values()) {
+			for (String sample : samples) {
+				assertEquals(ve.getRegexPattern().matcher(sample).matches(), ve.matches(sample), ve + " " + sample);
+				String padded = "[" + sample + "]";
+				assertEquals(ve.matches(sample), ve.matches(padded, 1, padded.length() - 1), ve + " " + sample);
+			}
+		}
+	}
+
+	@Test
+	void testValidationService_MatchesVersionUtils() {
+		String[] schemas = {"semver", "YYYY.0M.Micro", "Major.Minor.Patch-Modifier?", "Branch.Micro"};
+		String[] pins = {null, "1.Minor.Patch", "2020.0M.Micro", "semver", "1.2.Patch", "main.Micro"};
+		String[] versions = {"1.2.3", "1.2.3-rc1", "2020.01.5", "2.0.0", "main.5", "1.2", null};
+		List<ValidationRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			requests.add(new ValidationRequest(schemas[i % schemas.length], versions[i % versions.length], pins[i % pins.length]));
+		}
+		requests.add(new ValidationRequest("Major.Unknown", "1.2"));
+		ExecutorService platformPool = Executors.newFixedThreadPool(3);
+		try (VersionValidationService virtualService = new VersionValidationService();
+				VersionValidationService pooledService = new VersionValidationService(platformPool, 100)) {
+			List<ValidationResult> virtualResults = virtualService.validateAll(requests).join();
+			List<ValidationResult> pooledResults = pooledService.validateAll(requests).join();
+			for (int i = 0; i < requests.size() - 1; i++) {
+				ValidationRequest vr = requests.get(i);
+				boolean expected;
+				try {
+					expected = (null == vr.pin()) ? VersionUtils.isVersionMatchingSchema(vr.schema(), vr.version())
+							: VersionUtils.isVersionMatchingSchemaAndPin(vr.schema(), vr.pin(), vr.version());
+				} catch (RuntimeException re) {
+					assertTrue(null != virtualResults.get(i).error(), vr.toString());
+					continue;
+				}
+				assertSame(vr, virtualResults.get(i).request());
+				assertEquals(expected, virtualResults.get(i).valid(), vr.toString());
+				assertEquals(expected, pooledResults.get(i).valid(), vr.toString());
+			}
+			ValidationResult unknown = virtualResults.get(requests.size() - 1);
+			assertFalse(unknown.valid());
+			assertTrue(null != unknown.error());
+		} finally {
+			platformPool.shutdown();
+		}
+	}
 }